@@ -0,0 +1,20 @@
+package com.obsidian.dragon.benchmark;
+
+/**
+ * Entry point of the benchmark jar.
+ * Runs JMH with the GC profiler enabled, so every result reports its allocation rate
+ * next to its throughput. Accepts the usual JMH command line options.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 2];
+        jmhArgs[0] = "-prof";
+        jmhArgs[1] = "gc";
+        System.arraycopy(args, 0, jmhArgs, 2, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
@@ -0,0 +1,86 @@
+package com.obsidian.dragon.benchmark;
+
+import com.obsidian.dragon.ObsidianDragon;
+import com.obsidian.dragon.gui.EditorMenuManager;
+import com.obsidian.dragon.gui.GUIManager;
+import org.bukkit.inventory.InventoryView;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building and opening the plugin's menus for one player,
+ * using the default loot.yml.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuBenchmark {
+
+    private GUIManager guiManager;
+    private EditorMenuManager editorMenuManager;
+    private PlayerMock player;
+    private String entryId;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        ObsidianDragon plugin = MockBukkit.load(ObsidianDragon.class);
+        guiManager = plugin.getGUIManager();
+        editorMenuManager = guiManager.getEditorMenuManager();
+        player = server.addPlayer();
+        player.setOp(true);
+        entryId = plugin.getLootConfigManager().getAllLootEntries().get(0).id;
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public InventoryView mainMenu() {
+        guiManager.openMainMenu(player);
+        return player.getOpenInventory();
+    }
+
+    @Benchmark
+    public InventoryView lootMenu() {
+        guiManager.openLootMenu(player);
+        return player.getOpenInventory();
+    }
+
+    @Benchmark
+    public InventoryView editorMenu() {
+        editorMenuManager.openEditorMenu(player);
+        return player.getOpenInventory();
+    }
+
+    @Benchmark
+    public InventoryView lootEditorMenu() {
+        editorMenuManager.openLootEditorMenu(player);
+        return player.getOpenInventory();
+    }
+
+    @Benchmark
+    public InventoryView itemEditorMenu() {
+        editorMenuManager.openItemEditorMenu(player, entryId);
+        return player.getOpenInventory();
+    }
+}
@@ -0,0 +1,68 @@
+package com.obsidian.dragon.benchmark;
+
+import com.obsidian.dragon.ObsidianDragon;
+import com.obsidian.dragon.util.MessageUtil;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks formatting and sending plugin messages.
+ * Each benchmark drains the message it sent, so the mock player's message queue does not grow.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBenchmark {
+
+    private MessageUtil messages;
+    private PlayerMock player;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        ObsidianDragon plugin = MockBukkit.load(ObsidianDragon.class);
+        messages = plugin.getMessageUtil();
+        player = server.addPlayer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public String send() {
+        messages.send(player, "&aLoot configuration reloaded successfully!");
+        return player.nextMessage();
+    }
+
+    @Benchmark
+    public String sendConfig() {
+        messages.sendConfig(player, "messages.no-permission", "&cYou don't have permission to use this command.");
+        return player.nextMessage();
+    }
+
+    @Benchmark
+    public String sendConfigWithPlaceholder() {
+        messages.sendConfig(player, "economy.messages.payment-success",
+                "&aYou paid %cost% to spawn the Ender Dragon!", "%cost%", "$1,000.00");
+        return player.nextMessage();
+    }
+}
@@ -0,0 +1,158 @@
+package com.obsidian.dragon.logic;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmarks loot.yml parsing and loot rolling.
+ * Lives in the logic package so the package-private table classes can be measured directly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LootBenchmark {
+
+    private static final Material[] MATERIALS = {
+            Material.DIAMOND, Material.IRON_INGOT, Material.GOLD_INGOT, Material.EMERALD,
+            Material.NETHERITE_SCRAP, Material.DIAMOND_SWORD, Material.NETHERITE_PICKAXE, Material.ELYTRA
+    };
+
+    @Param({"50", "1000"})
+    public int itemCount;
+
+    private Logger logger;
+    private String lootYaml;
+    private LootTable table;
+    private SplittableRandom random;
+    private ItemStack template;
+
+    @Setup
+    public void setUp() throws InvalidConfigurationException {
+        MockBukkit.mock();
+        logger = Logger.getLogger("LootBenchmark");
+        logger.setLevel(Level.WARNING);
+        lootYaml = lootYaml(itemCount);
+        table = new LootTableParser(logger, LootTable.EMPTY).parse(lootYaml);
+        random = new SplittableRandom(42);
+        template = buildStack();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    /**
+     * Full parse and compile of loot.yml, as done by a reload.
+     */
+    @Benchmark
+    public LootTable parse() throws InvalidConfigurationException {
+        return new LootTableParser(logger, LootTable.EMPTY).parse(lootYaml);
+    }
+
+    /**
+     * Re-parse of an unchanged loot.yml, where every compiled item is reused.
+     */
+    @Benchmark
+    public LootTable reparseUnchanged() throws InvalidConfigurationException {
+        return new LootTableParser(logger, table).parse(lootYaml);
+    }
+
+    /**
+     * One dragon kill's worth of rolling and stack consolidation.
+     */
+    @Benchmark
+    public List<ItemStack> roll() {
+        return table.roll(random);
+    }
+
+    /**
+     * Building a named, enchanted drop from scratch (how drops were made before templates).
+     */
+    @Benchmark
+    public ItemStack buildStackPerDrop() {
+        return buildStack();
+    }
+
+    /**
+     * Producing the same drop from a compiled template.
+     */
+    @Benchmark
+    public ItemStack cloneTemplate() {
+        ItemStack stack = template.clone();
+        stack.setAmount(3);
+        return stack;
+    }
+
+    private static ItemStack buildStack() {
+        ItemStack item = new ItemStack(Material.DIAMOND_SWORD, 3);
+        ItemMeta meta = item.getItemMeta();
+        meta.displayName(LegacyComponentSerializer.legacyAmpersand().deserialize("&b&lDragon Slayer"));
+        List<Component> lore = List.of(
+                LegacyComponentSerializer.legacyAmpersand().deserialize("&7Forged in dragon fire"),
+                LegacyComponentSerializer.legacyAmpersand().deserialize("&8Legendary"));
+        meta.lore(lore);
+        item.setItemMeta(meta);
+        item.addUnsafeEnchantments(Map.of(Enchantment.SHARPNESS, 5, Enchantment.UNBREAKING, 3));
+        return item;
+    }
+
+    /**
+     * Generates a loot.yml with the given number of top-level items and a pool of a tenth that size.
+     */
+    private static String lootYaml(int items) {
+        StringBuilder yaml = new StringBuilder("loot:\n");
+        for (int i = 0; i < items; i++) {
+            appendItem(yaml, "  ", i);
+            yaml.append("    chance: ").append(5 + i % 90).append('\n');
+        }
+        yaml.append("pools:\n  hoard:\n    rolls: 1-3\n    entries:\n");
+        for (int i = 0; i < Math.max(1, items / 10); i++) {
+            appendItem(yaml, "      ", i);
+            yaml.append("        weight: ").append(1 + i % 10).append('\n');
+        }
+        return yaml.toString();
+    }
+
+    private static void appendItem(StringBuilder yaml, String indent, int i) {
+        Material material = MATERIALS[i % MATERIALS.length];
+        yaml.append(indent).append("- material: ").append(material.name()).append('\n');
+        yaml.append(indent).append("  amount: 1-").append(1 + i % 16).append('\n');
+        yaml.append(indent).append("  name: \"&6Dragon Loot #").append(i).append("\"\n");
+        yaml.append(indent).append("  lore:\n");
+        yaml.append(indent).append("    - \"&7Dropped by the Ender Dragon\"\n");
+        if (material.getMaxStackSize() == 1) {
+            yaml.append(indent).append("  enchantments:\n");
+            yaml.append(indent).append("    - \"UNBREAKING:3\"\n");
+            yaml.append(indent).append("    - \"MENDING:1\"\n");
+        }
+    }
+}
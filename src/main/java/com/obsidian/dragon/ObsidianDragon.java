@@ -4,21 +4,44 @@ package com.obsidian.dragon;
 import com.obsidian.dragon.command.DragonCommand;
 import com.obsidian.dragon.economy.EconomyManager;
 import com.obsidian.dragon.gui.GUIManager;
+import com.obsidian.dragon.gui.LootConfigManager;
 import com.obsidian.dragon.listener.DragonDeathListener;
 import com.obsidian.dragon.listener.MenuClickListener;
 import com.obsidian.dragon.logic.DragonKillManager;
 import com.obsidian.dragon.logic.LootManager;
+import com.obsidian.dragon.util.ConfigDiff;
+import com.obsidian.dragon.util.ConfigFileWatcher;
+import com.obsidian.dragon.util.LegacyText;
 import com.obsidian.dragon.util.MessageUtil;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public final class ObsidianDragon extends JavaPlugin {
 
+    private LootConfigManager lootConfigManager;
     private LootManager lootManager;
     private DragonKillManager dragonKillManager;
     private MessageUtil messageUtil;
     private GUIManager guiManager;
     private EconomyManager economyManager;
+    // Read by the loot writer thread
+    private volatile ConfigFileWatcher fileWatcher;
+    // config.yml as last reloaded (read by the file watcher thread); null until the first reload
+    private volatile FileConfiguration settings;
 
     @Override
     public void onEnable() {
@@ -28,8 +51,16 @@ public final class ObsidianDragon extends JavaPlugin {
         // Initialize MessageUtil
         messageUtil = new MessageUtil(this);
 
-        // Initialize LootManager
-        lootManager = new LootManager(this);
+        // Initialize the shared loot list and LootManager
+        lootConfigManager = new LootConfigManager(this);
+        // The editor's own writes to loot.yml must not trigger a reload
+        lootConfigManager.setWriteListener(content -> {
+            ConfigFileWatcher watcher = fileWatcher;
+            if (watcher != null) {
+                watcher.expectContent("loot.yml", content);
+            }
+        });
+        lootManager = new LootManager(this, lootConfigManager, messageUtil);
         getLogger().info("LootManager initialized with " + lootManager.getLootItemCount() + " loot item(s).");
 
         // Initialize DragonKillManager
@@ -61,11 +92,27 @@ public final class ObsidianDragon extends JavaPlugin {
         } else {
             getLogger().warning("Command 'obsidiandragon' not found in plugin.yml; executor/tab completer not registered.");
         }
+
+        // Start the optional config file watcher
+        startFileWatcher();
         getLogger().info("ObsidianDragon plugin enabled.");
     }
 
     @Override
     public void onDisable() {
+        if (fileWatcher != null) {
+            fileWatcher.stop();
+        }
+        // Write pending editor changes before the loader stops
+        if (lootConfigManager != null) {
+            lootConfigManager.shutdown();
+        }
+        // Drop any loot still waiting in the scheduler so nothing is lost
+        if (lootManager != null) {
+            lootManager.getDropScheduler().flush();
+            lootManager.getClaimManager().shutdown();
+            lootManager.shutdown();
+        }
         getLogger().info("ObsidianDragon plugin disabled.");
     }
 
@@ -77,6 +124,14 @@ public final class ObsidianDragon extends JavaPlugin {
         return lootManager;
     }
 
+    /**
+     * Gets the shared loot list edited through the loot editor.
+     * @return the LootConfigManager
+     */
+    public LootConfigManager getLootConfigManager() {
+        return lootConfigManager;
+    }
+
     /**
      * Gets the DragonKillManager instance.
      * @return the DragonKillManager
@@ -111,15 +166,41 @@ public final class ObsidianDragon extends JavaPlugin {
 
     /**
      * Reloads the plugin configuration and loot.
+     * config.yml is applied immediately; loot.yml is parsed in the background.
+     * @return A future completed on the main thread with true if reload was successful
+     */
+    public CompletableFuture<Boolean> reloadPlugin() {
+        if (!reloadSettings()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Reload loot.yml
+        return reloadLoot();
+    }
+
+    /**
+     * Re-reads loot.yml in the background; the editor's loot list is refreshed along with the loot table.
+     * @return A future completed on the main thread with true if the loot table was reloaded
+     */
+    public CompletableFuture<Boolean> reloadLoot() {
+        return onMainThread(lootManager.reloadAsync());
+    }
+
+    @Override
+    public @NotNull FileConfiguration getConfig() {
+        FileConfiguration current = settings;
+        return current != null ? current : super.getConfig();
+    }
+
+    /**
+     * Reloads config.yml and everything configured by it.
      * @return true if reload was successful
      */
-    public boolean reloadPlugin() {
+    private boolean reloadSettings() {
         try {
             // Reload config.yml
-            reloadConfig();
-
-            // Reload loot.yml
-            boolean lootSuccess = lootManager.reload();
+            settings = readSettings();
+            lootManager.reloadDeliverySettings();
 
             // Reinitialize DragonKillManager with new config
             dragonKillManager = new DragonKillManager(this);
@@ -127,13 +208,144 @@ public final class ObsidianDragon extends JavaPlugin {
             // Reload economy settings
             economyManager.reload();
 
-            return lootSuccess;
+            // Configured texts may have changed: parse them again and re-render the static menu contents
+            LegacyText.invalidate();
+            guiManager.reloadMenus();
+
+            // Pick up file watcher changes
+            if (fileWatcher != null) {
+                fileWatcher.stop();
+            }
+            startFileWatcher();
+            return true;
         } catch (Exception e) {
             getLogger().severe("Error reloading plugin: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Parses config.yml on top of the bundled defaults, without making it the active configuration.
+     * Safe to call from any thread.
+     *
+     * @throws InvalidConfigurationException if the file is not valid YAML
+     */
+    private FileConfiguration readSettings() throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(new File(getDataFolder(), "config.yml"));
+        try (InputStream in = getResource("config.yml")) {
+            if (in != null) {
+                config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Handles a change to config.yml seen by the file watcher: parses and compares the file on the
+     * watcher thread, then applies only the changed settings on the main thread.
+     * A file that fails to parse (e.g. one caught mid-write) leaves the current settings in place.
+     */
+    private void reloadChangedSettings() {
+        FileConfiguration base = getConfig();
+        FileConfiguration updated;
+        try {
+            updated = readSettings();
+        } catch (Exception e) {
+            getLogger().warning("Ignoring change to config.yml, it could not be parsed: " + e.getMessage());
+            return;
+        }
+        Set<String> changed = ConfigDiff.changedPaths(base, updated);
+        if (changed.isEmpty()) {
+            getLogger().info("config.yml has no effective changes.");
+            return;
+        }
+        getServer().getScheduler().runTask(this, () -> applySettings(base, updated, changed));
+    }
+
+    /**
+     * Makes a parsed config.yml active and reloads only the parts configured by the changed paths.
+     * Messages are read from the configuration whenever they are sent, so they need no reload.
+     *
+     * @param base    The configuration the changes were computed against
+     * @param changed Paths whose values differ between base and updated
+     */
+    private void applySettings(FileConfiguration base, FileConfiguration updated, Set<String> changed) {
+        if (getConfig() != base) {
+            // Reloaded by a command in the meantime: compare against what is active now
+            changed = ConfigDiff.changedPaths(getConfig(), updated);
+        }
+        settings = updated;
+
+        List<String> applied = new ArrayList<>();
+        if (ConfigDiff.anyUnder(changed, "loot-delivery")) {
+            lootManager.reloadDeliverySettings();
+            applied.add("loot delivery");
+        }
+        if (changed.contains("dragon-kill.cooldown")) {
+            dragonKillManager.reloadSettings();
+            applied.add("kill cooldown");
+        }
+        if (changed.stream().anyMatch(path -> ConfigDiff.isUnder(path, "economy") && !ConfigDiff.isUnder(path, "economy.messages"))) {
+            economyManager.reload();
+            applied.add("economy");
+        }
+        if (ConfigDiff.anyUnder(changed, "file-watcher")) {
+            if (fileWatcher != null) {
+                fileWatcher.stop();
+            }
+            startFileWatcher();
+            applied.add("file watcher");
+        }
+        getLogger().info("Applied " + changed.size() + " changed setting(s) from config.yml" +
+                (applied.isEmpty() ? "" : ", reloaded: " + String.join(", ", applied)));
+    }
+
+    /**
+     * Starts watching loot.yml and config.yml if enabled in config.yml.
+     * loot.yml changes are re-parsed in the background; config.yml changes are parsed and compared in the
+     * background, and only the changed settings are applied on the main thread.
+     */
+    private void startFileWatcher() {
+        fileWatcher = null;
+        if (!getConfig().getBoolean("file-watcher.enabled", false)) {
+            return;
+        }
+
+        long debounce = Math.max(50L, getConfig().getLong("file-watcher.debounce-ms", 500L));
+        long maxDelay = getConfig().getLong("file-watcher.max-delay-ms", 5000L);
+        ConfigFileWatcher watcher = new ConfigFileWatcher(this, debounce, maxDelay);
+        watcher.watch("loot.yml", this::reloadLoot);
+        watcher.watch("config.yml", this::reloadChangedSettings);
+        if (watcher.start()) {
+            fileWatcher = watcher;
+        }
+    }
+
+    /**
+     * Returns a future that completes on the main thread once the given one has completed.
+     * Results arriving after the plugin has been disabled are dropped.
+     *
+     * @param future A future completing on any thread
+     * @return A future completing on the main thread
+     */
+    public <T> CompletableFuture<T> onMainThread(CompletableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (!isEnabled()) {
+                return;
+            }
+            getServer().getScheduler().runTask(this, () -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
     /**
      * Spawns the Ender Dragon in The End with economy integration.
      *
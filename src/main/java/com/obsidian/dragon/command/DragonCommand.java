@@ -1,19 +1,35 @@
 package com.obsidian.dragon.command;
 
 import com.obsidian.dragon.ObsidianDragon;
+import com.obsidian.dragon.gui.LootConfigManager;
+import com.obsidian.dragon.logic.LootSimulator;
+import com.obsidian.dragon.logic.LootTransfer;
 import com.obsidian.dragon.util.MessageUtil;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 
 public class DragonCommand implements CommandExecutor, TabCompleter {
 
+    private static final List<String> LOOT_SUBCOMMANDS = List.of("replay", "simulate", "undo", "redo", "export", "import");
+    private static final long MAX_SIMULATED_KILLS = 100_000_000L;
+
     private final ObsidianDragon plugin;
     private final MessageUtil msg;
 
@@ -31,7 +47,12 @@ public class DragonCommand implements CommandExecutor, TabCompleter {
             msg.send(sender, "&7/dragon editor &f- Open the loot editor (Admin)");
             msg.send(sender, "&7/dragon spawn &f- Spawn the Ender Dragon");
             msg.send(sender, "&7/dragon kill &f- Instantly kill the Ender Dragon");
+            msg.send(sender, "&7/dragon claim &f- Collect dragon loot that didn't fit in your inventory");
             msg.send(sender, "&7/dragon reload &f- Reload plugin configuration");
+            msg.send(sender, "&7/dragon loot replay <seed> [give] &f- Replay a logged loot roll (Admin)");
+            msg.send(sender, "&7/dragon loot simulate <kills> &f- Simulate dragon kills against the loot table (Admin)");
+            msg.send(sender, "&7/dragon loot undo|redo &f- Undo or redo the last loot editor change (Admin)");
+            msg.send(sender, "&7/dragon loot export|import <file> &f- Export or import the loot list as JSON/CSV (Admin)");
             return true;
         }
 
@@ -42,7 +63,9 @@ public class DragonCommand implements CommandExecutor, TabCompleter {
             case "editor" -> handleEditor(sender);
             case "spawn" -> handleSpawn(sender);
             case "kill" -> handleKill(sender);
+            case "claim" -> handleClaim(sender);
             case "reload" -> handleReload(sender);
+            case "loot" -> handleLoot(sender, args);
             default -> sender.sendMessage("§cUnknown command. Use §e/dragon §cfor help.");
         }
         return true;
@@ -98,6 +121,251 @@ public class DragonCommand implements CommandExecutor, TabCompleter {
         plugin.getDragonKillManager().killDragon(sender);
     }
 
+    /**
+     * Handles the claim subcommand (collect queued inventory-delivery loot).
+     */
+    private void handleClaim(CommandSender sender) {
+        if (!(sender instanceof org.bukkit.entity.Player player)) {
+            msg.send(sender, "&cOnly players can use this command!");
+            return;
+        }
+
+        if (!player.hasPermission("obsidiandragon.claim")) {
+            msg.sendConfig(sender, "messages.no-permission",
+                    "&cYou don't have permission to use this command.");
+            return;
+        }
+
+        plugin.getLootManager().getClaimManager().claim(player);
+    }
+
+    /**
+     * Handles the loot subcommand group (admin loot tools).
+     */
+    private void handleLoot(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("obsidiandragon.admin.loot")) {
+            msg.sendConfig(sender, "messages.no-permission",
+                    "&cYou don't have permission to use this command.");
+            return;
+        }
+
+        if (args.length < 2) {
+            msg.send(sender, "&7/dragon loot replay <seed> [give] &f- Replay a logged loot roll");
+            msg.send(sender, "&7/dragon loot simulate <kills> &f- Simulate dragon kills against the loot table");
+            msg.send(sender, "&7/dragon loot undo|redo &f- Undo or redo your last loot editor change");
+            msg.send(sender, "&7/dragon loot export|import <file> &f- Export or import the loot list (.json or .csv in exports/)");
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "replay" -> handleLootReplay(sender, args);
+            case "simulate" -> handleLootSimulate(sender, args);
+            case "undo" -> handleLootHistory(sender, true);
+            case "redo" -> handleLootHistory(sender, false);
+            case "export" -> handleLootExport(sender, args);
+            case "import" -> handleLootImport(sender, args);
+            default -> msg.send(sender, "&cUnknown loot command. Use &e/dragon loot &cfor help.");
+        }
+    }
+
+    /**
+     * Handles /dragon loot undo and /dragon loot redo: steps through the sender's own loot edit history.
+     */
+    private void handleLootHistory(CommandSender sender, boolean undo) {
+        LootConfigManager lootConfig = plugin.getLootConfigManager();
+        UUID editor = historyOwner(sender);
+        LootConfigManager.HistoryResult result = undo ? lootConfig.undo(editor) : lootConfig.redo(editor);
+        if (result != LootConfigManager.HistoryResult.DONE) {
+            msg.send(sender, result.message(undo));
+            return;
+        }
+        msg.send(sender, result.message(undo) + (undo
+                ? " &7(" + lootConfig.getUndoCount(editor) + " more can be undone)"
+                : " &7(" + lootConfig.getRedoCount(editor) + " more can be redone)"));
+    }
+
+    /**
+     * Gets the owner of the loot edit history of a command sender: the player, or the console.
+     */
+    private static UUID historyOwner(CommandSender sender) {
+        return sender instanceof org.bukkit.entity.Player player ? player.getUniqueId() : LootConfigManager.CONSOLE_EDITOR;
+    }
+
+    /**
+     * Handles /dragon loot export &lt;file&gt;: writes the loot list to exports/ in the background.
+     */
+    private void handleLootExport(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            msg.send(sender, "&cUsage: /dragon loot export <file.json|file.csv>");
+            return;
+        }
+
+        CompletableFuture<Integer> export;
+        try {
+            export = plugin.getLootManager().exportLoot(args[2]);
+        } catch (IllegalArgumentException e) {
+            msg.send(sender, "&c" + e.getMessage());
+            return;
+        }
+
+        msg.send(sender, "&eExporting loot to &fexports/" + args[2] + "&e...");
+        plugin.onMainThread(export).whenComplete((count, error) -> {
+            if (error != null) {
+                msg.send(sender, "&cLoot export failed! Check console for errors.");
+                plugin.getLogger().log(Level.WARNING, "Failed to export loot to " + args[2], error);
+                return;
+            }
+            msg.send(sender, "&aExported " + count + " loot entries to &fexports/" + args[2]);
+        });
+    }
+
+    /**
+     * Handles /dragon loot import &lt;file&gt;: reads and validates a file from exports/ in the background,
+     * then replaces the loot list in one step. Nothing changes unless every entry is valid.
+     */
+    private void handleLootImport(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            msg.send(sender, "&cUsage: /dragon loot import <file.json|file.csv>");
+            return;
+        }
+
+        CompletableFuture<List<LootConfigManager.LootEntry>> imported;
+        try {
+            imported = plugin.getLootManager().importLoot(args[2]);
+        } catch (IllegalArgumentException e) {
+            msg.send(sender, "&c" + e.getMessage());
+            return;
+        }
+
+        msg.send(sender, "&eImporting loot from &fexports/" + args[2] + "&e...");
+        plugin.onMainThread(imported).whenComplete((entries, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof LootTransfer.InvalidLootException invalid) {
+                    msg.send(sender, "&cImport rejected, nothing was changed. " + invalid.getProblemCount() + " problem(s) found:");
+                    for (String problem : invalid.getProblems()) {
+                        msg.send(sender, "&7- &f" + problem);
+                    }
+                } else if (cause instanceof NoSuchFileException) {
+                    msg.send(sender, "&cFile not found: &fexports/" + args[2]);
+                } else if (cause instanceof IOException) {
+                    msg.send(sender, "&cImport failed, nothing was changed: " + cause.getMessage());
+                } else {
+                    msg.send(sender, "&cLoot import failed! Check console for errors.");
+                    plugin.getLogger().log(Level.WARNING, "Failed to import loot from " + args[2], error);
+                }
+                return;
+            }
+            plugin.getLootConfigManager().replaceAll(historyOwner(sender), entries);
+            msg.send(sender, "&aImported " + entries.size() + " loot entries. &7Use /dragon loot undo to revert.");
+        });
+    }
+
+    /**
+     * Handles /dragon loot replay &lt;seed&gt; [give]: re-rolls the current table with a logged seed.
+     */
+    private void handleLootReplay(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            msg.send(sender, "&cUsage: /dragon loot replay <seed> [give]");
+            return;
+        }
+
+        long seed;
+        try {
+            seed = Long.parseLong(args[2]);
+        } catch (NumberFormatException e) {
+            msg.send(sender, "&cInvalid seed: " + args[2]);
+            return;
+        }
+
+        List<ItemStack> drops = plugin.getLootManager().replayLoot(seed);
+        msg.send(sender, "&eLoot for seed &f" + seed + " &e(" + drops.size() + " stack(s), current loot table):");
+        for (ItemStack drop : drops) {
+            msg.send(sender, "&7- &f" + drop.getAmount() + "x " + drop.getType().name() + describeName(drop));
+        }
+
+        if (args.length >= 4 && args[3].equalsIgnoreCase("give")) {
+            if (!(sender instanceof org.bukkit.entity.Player player)) {
+                msg.send(sender, "&cOnly players can receive replayed loot!");
+                return;
+            }
+            for (ItemStack drop : drops) {
+                player.getInventory().addItem(drop).values()
+                        .forEach(leftover -> player.getWorld().dropItemNaturally(player.getLocation(), leftover));
+            }
+            msg.send(sender, "&aReplayed loot has been given to you.");
+        }
+    }
+
+    /**
+     * Handles /dragon loot simulate &lt;kills&gt;: runs a Monte Carlo simulation of the current table off the main thread.
+     */
+    private void handleLootSimulate(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            msg.send(sender, "&cUsage: /dragon loot simulate <kills>");
+            return;
+        }
+
+        long kills;
+        try {
+            kills = Long.parseLong(args[2].replace("_", ""));
+        } catch (NumberFormatException e) {
+            msg.send(sender, "&cInvalid number of kills: " + args[2]);
+            return;
+        }
+        if (kills < 1 || kills > MAX_SIMULATED_KILLS) {
+            msg.send(sender, "&cNumber of kills must be between 1 and " + MAX_SIMULATED_KILLS + ".");
+            return;
+        }
+
+        CompletableFuture<LootSimulator.Result> simulation = plugin.getLootManager().simulate(kills);
+        if (simulation == null) {
+            msg.send(sender, "&cA loot simulation is already running, please wait.");
+            return;
+        }
+
+        msg.send(sender, "&eSimulating " + kills + " dragon kill(s)...");
+        plugin.onMainThread(simulation).whenComplete((result, error) -> {
+            if (error != null) {
+                msg.send(sender, "&cLoot simulation failed! Check console for errors.");
+                plugin.getLogger().log(Level.WARNING, "Loot simulation failed", error);
+                return;
+            }
+            sendSimulationResult(sender, result);
+        });
+    }
+
+    /**
+     * Reports a finished loot simulation.
+     */
+    private void sendSimulationResult(CommandSender sender, LootSimulator.Result result) {
+        msg.send(sender, "&eSimulated &f" + result.getKills() + " &ekill(s) in &f" + result.getElapsedMillis() +
+                " ms &7(seed " + result.getSeed() + ")");
+        msg.send(sender, String.format(Locale.ROOT, "&7Expected items per kill: &f%.3f", result.getMeanItemsPerKill()));
+        msg.send(sender, "&7Items per kill: &fp50 " + result.getItemsPerKillPercentile(50) +
+                " &7| &fp90 " + result.getItemsPerKillPercentile(90) +
+                " &7| &fp99 " + result.getItemsPerKillPercentile(99) +
+                " &7| &fmax " + result.getMaxItemsPerKill());
+
+        ItemStack rarest = result.getRarestDrop();
+        if (rarest != null) {
+            double rate = result.getRarestDropRate();
+            String oneIn = rate > 0 ? String.format(Locale.ROOT, " &7(1 in %.0f kills)", 1 / rate) : " &7(never dropped)";
+            msg.send(sender, String.format(Locale.ROOT, "&7Rarest drop: &f%s%s &7in &f%.4f%% &7of kills",
+                    rarest.getType().name(), describeName(rarest), rate * 100) + oneIn);
+        }
+    }
+
+    /**
+     * Formats an item's custom name for chat, or an empty string if it has none.
+     */
+    private static String describeName(ItemStack item) {
+        ItemMeta meta = item.getItemMeta();
+        return meta != null && meta.hasDisplayName()
+                ? " &7(" + LegacyComponentSerializer.legacyAmpersand().serialize(meta.displayName()) + "&7)"
+                : "";
+    }
+
     /**
      * Handles the reload subcommand for plugin configuration.
      */
@@ -109,8 +377,13 @@ public class DragonCommand implements CommandExecutor, TabCompleter {
         }
 
         msg.send(sender, "&eReloading plugin configuration...");
-        boolean success = plugin.reloadPlugin();
+        plugin.reloadPlugin().thenAccept(success -> sendReloadResult(sender, success));
+    }
 
+    /**
+     * Reports the outcome of a reload to the sender who requested it.
+     */
+    private void sendReloadResult(CommandSender sender, boolean success) {
         if (success) {
             int lootCount = plugin.getLootManager().getLootItemCount();
             msg.sendConfig(sender, "messages.reload-success",
@@ -155,11 +428,31 @@ public class DragonCommand implements CommandExecutor, TabCompleter {
                 completions.add("kill");
             }
 
+            // Add "claim" if player has permission
+            if (sender.hasPermission("obsidiandragon.claim") && "claim".startsWith(partial)) {
+                completions.add("claim");
+            }
+
             // Add "reload" if player has admin permission
             if (sender.hasPermission("obsidiandragon.admin.loot") && "reload".startsWith(partial)) {
                 completions.add("reload");
             }
 
+            // Add "loot" if player has admin permission
+            if (sender.hasPermission("obsidiandragon.admin.loot") && "loot".startsWith(partial)) {
+                completions.add("loot");
+            }
+
+            return completions;
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("loot") && sender.hasPermission("obsidiandragon.admin.loot")) {
+            List<String> completions = new ArrayList<>();
+            String partial = args[1].toLowerCase();
+            for (String sub : LOOT_SUBCOMMANDS) {
+                if (sub.startsWith(partial)) {
+                    completions.add(sub);
+                }
+            }
             return completions;
         }
         return Collections.emptyList();
@@ -1,10 +1,10 @@
 package com.obsidian.dragon.gui;
 
 import com.obsidian.dragon.ObsidianDragon;
+import com.obsidian.dragon.util.LegacyText;
 import com.obsidian.dragon.util.MessageUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
@@ -12,6 +12,9 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Manages the advanced loot editor GUI system with custom dialogs.
@@ -25,34 +28,143 @@ public class EditorMenuManager {
     private final LootConfigManager lootConfigManager;
     // Pagination state for loot editor per-player
     private final Map<UUID, Integer> lootEditorPages = new HashMap<>();
+    // Search, filters and sort order of each player's loot editor view
+    private final Map<UUID, LootFilter> lootEditorFilters = new HashMap<>();
+    // Players typing a search or chance range in chat (read from the async chat thread)
+    private final Map<UUID, FilterPrompt> filterPrompts = new ConcurrentHashMap<>();
+    // Loot editor display item of each entry, built for the entry revision it shows
+    private final Map<String, DisplayItem> displayItems = new HashMap<>();
 
     // GUI constants
-    private static final int LOOT_MENU_SIZE = 54;
     private static final int BACK_SLOT = 49; // bottom-center (Back to editor)
     // Bottom-left (slot 45) is used for Add New Loot
     private static final int ADD_SLOT = 45;  // Add New Loot at bottom-left
     private static final int GET_ALL_SLOT = 53; // moved Get All Items to bottom-right
     private static final int SORT_SLOT = 46; // moved Sort to slot 46 (left-middle)
+    private static final int SEARCH_SLOT = 47;
+    private static final int ENCHANT_FILTER_SLOT = 51;
+    private static final int CHANCE_FILTER_SLOT = 52;
     // Put navigation arrows around the center: prev at 48 (left of back), back at 49 (center), next at 50 (right of back)
     private static final int PREV_PAGE_SLOT = 48; // left arrow (previous page)
     private static final int NEXT_PAGE_SLOT = 50; // right arrow (next page)
+    // Undo / redo on either side of the Loot Editor button in the main editor menu
+    private static final int UNDO_SLOT = 11;
+    private static final int REDO_SLOT = 15;
+    // Item editor: top-center warning shown after a save conflict
+    private static final int CONFLICT_SLOT = 4;
+    // Item editor: current item, option buttons (29..33, swap first) and delete / save
+    private static final int CURRENT_ITEM_SLOT = 13;
+    private static final int SWAP_SLOT = 29;
+    private static final int AMOUNT_SLOT = 30;
+    private static final int NAME_SLOT = 31;
+    private static final int CHANCE_SLOT = 32;
+    private static final int LORE_SLOT = 33;
+    private static final int DELETE_SLOT = 45;
+    private static final int SAVE_SLOT = 53;
+
+    // Menu layouts and static contents, rendered by buildMenus()
+    private MenuDefinition editorMenu;
+    private MenuDefinition lootEditorMenu;
+    private MenuDefinition itemEditorMenu;
+    // Clicks in the content menu are handled by the click listener (its center slot behaves like a chest slot)
+    private MenuDefinition contentMenu;
 
     public EditorMenuManager(ObsidianDragon plugin) {
         this.plugin = plugin;
         this.msg = plugin.getMessageUtil();
         this.editorSessions = new HashMap<>();
-        this.lootConfigManager = new LootConfigManager(plugin);
+        this.lootConfigManager = plugin.getLootConfigManager();
+        buildMenus();
+    }
+
+    /**
+     * Renders the static contents of the editor menus again (call after a reload).
+     */
+    public void reloadMenus() {
+        buildMenus();
+        displayItems.clear();
+    }
+
+    /**
+     * Builds the menu definitions with their handlers and pre-rendered static items.
+     */
+    private void buildMenus() {
+        this.editorMenu = MenuDefinition.builder(MenuHolder.MenuType.EDITOR, 3, LegacyText.section("§0Editor"))
+                // Vault Block - Opens Loot Editor
+                .button(13, MenuItems.create(Material.VAULT, "§6§lLoot Editor", List.of("§7Click to edit loot items", "", "§e▶ Open Loot Editor")),
+                        (player, menu) -> openLootEditorMenu(player))
+                .button(UNDO_SLOT, (player, menu) -> {
+                    msg.send(player, lootConfigManager.undo(player.getUniqueId()).message(true));
+                    openEditorMenu(player);
+                })
+                .button(REDO_SLOT, (player, menu) -> {
+                    msg.send(player, lootConfigManager.redo(player.getUniqueId()).message(false));
+                    openEditorMenu(player);
+                })
+                .build();
+        this.lootEditorMenu = MenuItems.standardBackground(MenuDefinition.builder(MenuHolder.MenuType.LOOT_EDITOR, 6,
+                        LegacyText.section("§0Loot Editor")))
+                .pages(MenuLayout.INTERIOR, this::handleLootEntryClick)
+                // Add new loot button (bottom-left)
+                .button(ADD_SLOT, MenuItems.create(Material.EMERALD, "§a§lAdd New Loot", List.of("§7Click to add a new loot item")),
+                        (player, menu) -> addLootEntry(player))
+                .button(SORT_SLOT, (player, menu) -> updateFilter(player, filter -> filter.withSort(filter.getSort().next())))
+                .button(SEARCH_SLOT, (player, menu) -> promptFilter(player, FilterPrompt.SEARCH))
+                .button(PREV_PAGE_SLOT, (player, menu) -> changePage(player, -1))
+                // Back button (bottom-center)
+                .button(BACK_SLOT, MenuItems.create(Material.IRON_DOOR, "§7Back", List.of("§7Return to Main Editor")), (player, menu) -> {
+                    // clear paging when leaving
+                    lootEditorPages.remove(player.getUniqueId());
+                    lootEditorFilters.remove(player.getUniqueId());
+                    openEditorMenu(player);
+                })
+                .button(NEXT_PAGE_SLOT, (player, menu) -> changePage(player, 1))
+                .button(ENCHANT_FILTER_SLOT, (player, menu) -> updateFilter(player, filter -> filter.withEnchanted(filter.getEnchanted().next())))
+                .button(CHANCE_FILTER_SLOT, (player, menu) -> promptFilter(player, FilterPrompt.CHANCE))
+                // Get All Items (bottom-right)
+                .button(GET_ALL_SLOT, MenuItems.create(Material.CHEST, "§e§lGet All Items", List.of("§7Receive all loot items with their names and lore")),
+                        (player, menu) -> giveAllLootItems(player))
+                .build();
+        this.itemEditorMenu = MenuItems.standardBackground(MenuDefinition.builder(MenuHolder.MenuType.ITEM_EDITOR, 6,
+                        LegacyText.section("§0Item Editor")))
+                .button(CONFLICT_SLOT, withSession(this::loadConflictingVersion))
+                .button(CURRENT_ITEM_SLOT, withSession(this::dropTestItem))
+                // Swap (bundle); opens the content menu from the click listener, before the click gets here
+                .item(SWAP_SLOT, MenuItems.create(Material.BUNDLE, "§a§lSwap Item Here", List.of("§7Drag & drop an item here to set content")))
+                .button(AMOUNT_SLOT, withSession((player, session) -> showDialog(player, DialogType.AMOUNT, session.entry.amount)))
+                .button(NAME_SLOT, withSession((player, session) -> showDialog(player, DialogType.NAME, session.entry.customName)))
+                .button(CHANCE_SLOT, withSession((player, session) -> showDialog(player, DialogType.CHANCE, String.valueOf(session.entry.chance))))
+                .button(LORE_SLOT, withSession((player, session) ->
+                        showDialog(player, DialogType.LORE, session.entry.lore != null ? String.join("|", session.entry.lore) : "")))
+                // Delete / Back / Save
+                .button(DELETE_SLOT, MenuItems.create(Material.RED_STAINED_GLASS_PANE, "§c§lDelete Item",
+                                List.of("§7Click to delete this loot item", "§7Undo from the editor menu or with /dragon loot undo")),
+                        withSession(this::deleteSessionEntry))
+                .button(BACK_SLOT, MenuItems.create(Material.IRON_DOOR, "§7Back", List.of("§7Return to Loot Editor")), withSession((player, session) -> {
+                    editorSessions.remove(player.getUniqueId());
+                    openLootEditorMenu(player);
+                }))
+                .button(SAVE_SLOT, MenuItems.create(Material.LIME_STAINED_GLASS_PANE, "§a§lSave Changes", List.of("§7Click to save all changes")),
+                        withSession(this::saveSessionEntry))
+                .build();
+
+        this.contentMenu = MenuItems.standardBackground(MenuDefinition.builder(MenuHolder.MenuType.CONTENT, 6,
+                        LegacyText.section("§0Content")))
+                // Back & Save
+                .item(BACK_SLOT, MenuItems.create(Material.IRON_DOOR, "§7Back", null))
+                .item(SAVE_SLOT, MenuItems.create(Material.LIME_STAINED_GLASS_PANE, "§aSave", null))
+                .build();
     }
 
     /**
      * Opens the main editor menu.
      */
     public void openEditorMenu(Player player) {
-        Component title = LegacyComponentSerializer.legacySection().deserialize("§0Editor");
-        Inventory menu = Bukkit.createInventory(null, 27, title);
+        Inventory menu = editorMenu.createInventory();
 
-        // Vault Block - Opens Loot Editor
-        menu.setItem(13, buildMenuItem(Material.VAULT, "§6§lLoot Editor", List.of("§7Click to edit loot items", "", "§e▶ Open Loot Editor")));
+        // Undo / Redo loot edits
+        menu.setItem(UNDO_SLOT, MenuItems.live(Material.CLOCK, "§e§lUndo", List.of("§7Revert your last loot edit", "§7Steps available: §f" + lootConfigManager.getUndoCount(player.getUniqueId()))));
+        menu.setItem(REDO_SLOT, MenuItems.live(Material.RECOVERY_COMPASS, "§e§lRedo", List.of("§7Re-apply your last undone edit", "§7Steps available: §f" + lootConfigManager.getRedoCount(player.getUniqueId()))));
 
         player.openInventory(menu);
     }
@@ -61,50 +173,42 @@ public class EditorMenuManager {
      * Opens the loot editor menu showing all loot items.
      */
     public void openLootEditorMenu(Player player) {
-        Component title = LegacyComponentSerializer.legacySection().deserialize("§0Loot Editor");
-        Inventory menu = Bukkit.createInventory(null, LOOT_MENU_SIZE, title);
+        Inventory menu = lootEditorMenu.createInventory();
 
-        List<LootConfigManager.LootEntry> lootEntries = lootConfigManager.getAllLootEntries();
+        LootFilter filter = lootEditorFilters.getOrDefault(player.getUniqueId(), LootFilter.NONE);
+        List<LootConfigManager.LootEntry> lootEntries = lootConfigManager.view(filter);
 
-        // Determine page and capacity
-        final int capacity = getInteriorSlots().size(); // number of items per page
-        int page = lootEditorPages.getOrDefault(player.getUniqueId(), 0);
-        if (page < 0) page = 0;
-        int startIndex = page * capacity;
-
-        // Create border (black) and interior filler (gray)
-        // Apply standard menu border and filler
-        applyMenuBorderAndFiller(menu);
+        // The view may have shrunk since the page was chosen
+        int page = Math.max(0, Math.min(lootEditorPages.getOrDefault(player.getUniqueId(), 0), lootEditorMenu.lastPage(lootEntries.size())));
+        lootEditorPages.put(player.getUniqueId(), page);
+        String pageLabel = "§7Page: §f" + (page + 1) + " / " + lootEditorMenu.pageCount(lootEntries.size());
 
         // Place loot items into interior slots only (paged)
-        List<Integer> interiorSlots = getInteriorSlots();
-        int placed = 0;
-        for (int i = startIndex; i < lootEntries.size() && placed < interiorSlots.size(); i++) {
-            LootConfigManager.LootEntry entry = lootEntries.get(i);
-            ItemStack displayItem = createLootDisplayItem(entry);
-            int targetSlot = interiorSlots.get(placed);
-            menu.setItem(targetSlot, displayItem);
-            placed++;
+        pruneDisplayItems();
+        List<LootConfigManager.LootEntry> shown = lootEditorMenu.fillPage(menu, lootEntries, page, this::getLootDisplayItem);
+        List<String> pageIds = new ArrayList<>(shown.size());
+        for (LootConfigManager.LootEntry entry : shown) {
+            pageIds.add(entry.id);
         }
+        // Clicks resolve to the entries shown, even if the list changes while the menu is open
+        MenuHolder.of(menu).setEntryIds(pageIds);
 
-        // Add new loot button (bottom-left)
-        menu.setItem(ADD_SLOT, buildMenuItem(Material.EMERALD, "§a§lAdd New Loot", List.of("§7Click to add a new loot item")));
-
-        // Sort by Chance (moved to slot 46)
-        menu.setItem(SORT_SLOT, buildMenuItem(Material.COMPARATOR, "§b§lSort by Chance (Desc)", List.of("§7Sort loot entries by chance (high -> low)")));
-
-        // Get All Items (moved to bottom-right)
-        menu.setItem(GET_ALL_SLOT, buildMenuItem(Material.CHEST, "§e§lGet All Items", List.of("§7Receive all loot items with their names and lore")));
+        // View order (slot 46); only changes how this menu lists the entries
+        menu.setItem(SORT_SLOT, MenuItems.create(Material.COMPARATOR, "§b§lSort: §f" + filter.getSort().getLabel(), List.of("§7Click to change the display order", "§8(loot.yml keeps its order)")));
 
-        // Back button (bottom-center)
-        menu.setItem(BACK_SLOT, buildMenuItem(Material.IRON_DOOR, "§7Back", List.of("§7Return to Main Editor")));
+        // Search and filters
+        String query = filter.getQuery().isEmpty() ? "§8None" : "§f" + filter.getQuery();
+        menu.setItem(SEARCH_SLOT, MenuItems.live(Material.SPYGLASS, "§e§lSearch", List.of("§7Current: " + query, "§7Matches material, name and lore", "", "§e▶ Click to search")));
+        menu.setItem(ENCHANT_FILTER_SLOT, MenuItems.create(Material.ENCHANTED_BOOK, "§d§lEnchantments: §f" + filter.getEnchanted().getLabel(), List.of("§7Click to change the filter")));
+        String range = filter.getMinChance() <= 0 && filter.getMaxChance() >= 100 ? "§8Any" : "§f" + filter.getMinChance() + "% - " + filter.getMaxChance() + "%";
+        menu.setItem(CHANCE_FILTER_SLOT, MenuItems.live(Material.NETHER_STAR, "§d§lChance Range", List.of("§7Current: " + range, "", "§e▶ Click to set")));
 
         // Previous page arrow (left of center)
-        menu.setItem(PREV_PAGE_SLOT, buildMenuItem(Material.ARROW, "§e⟵ Previous Page", List.of("§7Page: §f" + (page + 1) + " / " + Math.max(1, (int)Math.ceil((double)lootEntries.size()/Math.max(1, capacity))), "§7Click to go to the previous page")));
+        menu.setItem(PREV_PAGE_SLOT, MenuItems.live(Material.ARROW, "§e⟵ Previous Page", List.of(pageLabel, "§7Click to go to the previous page")));
 
         // Next page arrow (right of center)
         // Use a normal arrow for the next page (keep visuals consistent)
-        menu.setItem(NEXT_PAGE_SLOT, buildMenuItem(Material.ARROW, "§eNext Page ⟶", List.of("§7Page: §f" + (page + 1) + " / " + Math.max(1, (int)Math.ceil((double)lootEntries.size()/Math.max(1, capacity))), "§7Click to go to the next page")));
+        menu.setItem(NEXT_PAGE_SLOT, MenuItems.live(Material.ARROW, "§eNext Page ⟶", List.of(pageLabel, "§7Click to go to the next page")));
 
         player.openInventory(menu);
     }
@@ -115,26 +219,21 @@ public class EditorMenuManager {
      * - current item at slot 13 (second row center)
      * - five option buttons centered on row 3 at slots 29..33 in order: swap(bundle), amount, name, chance, lore
      */
-    public void openItemEditorMenu(Player player, int lootIndex) {
+    public void openItemEditorMenu(Player player, String entryId) {
         EditorSession session = editorSessions.get(player.getUniqueId());
-        if (session == null || session.lootIndex != lootIndex) {
-            LootConfigManager.LootEntry entry = lootConfigManager.getLootEntry(lootIndex);
+        if (session == null || !session.entryId.equals(entryId)) {
+            LootConfigManager.LootEntry entry = lootConfigManager.getLootEntry(entryId);
             if (entry == null) {
                 msg.send(player, "&cInvalid loot item!");
                 return;
             }
-            session = new EditorSession(lootIndex, entry);
+            session = new EditorSession(entryId, entry);
             editorSessions.put(player.getUniqueId(), session);
         }
 
-        Component title = LegacyComponentSerializer.legacySection().deserialize("§0Item Editor");
-        Inventory menu = Bukkit.createInventory(null, LOOT_MENU_SIZE, title);
-
-        // Apply standard menu border and filler
-        applyMenuBorderAndFiller(menu);
+        Inventory menu = itemEditorMenu.createInventory();
 
         // Current item at slot 13
-        int currentSlot = 13;
         ItemStack current;
         if (session.entry.material != null && !session.entry.material.isEmpty() && !session.entry.material.equalsIgnoreCase("AIR")) {
             Material mat = Material.getMaterial(session.entry.material);
@@ -142,37 +241,47 @@ public class EditorMenuManager {
             current = new ItemStack(mat);
             ItemMeta cm = current.getItemMeta();
             if (cm != null) {
-                cm.displayName(LegacyComponentSerializer.legacySection().deserialize("§e§lCurrent Item"));
+                cm.displayName(LegacyText.section("§e§lCurrent Item"));
                 List<Component> lore = new ArrayList<>();
-                lore.add(LegacyComponentSerializer.legacySection().deserialize("§7Material: §f" + session.entry.material));
+                lore.add(LegacyText.sectionUncached("§7Material: §f" + session.entry.material));
                 lore.add(Component.empty());
-                lore.add(LegacyComponentSerializer.legacySection().deserialize("§7This is the current loot item"));
+                lore.add(LegacyText.section("§7This is the current loot item"));
                 cm.lore(lore);
                 current.setItemMeta(cm);
             }
         } else {
             current = new ItemStack(Material.LIGHT_GRAY_STAINED_GLASS_PANE);
             ItemMeta cm = current.getItemMeta();
-            if (cm != null) cm.displayName(LegacyComponentSerializer.legacySection().deserialize("§7No item set"));
+            if (cm != null) cm.displayName(LegacyText.section("§7No item set"));
+        }
+        menu.setItem(CURRENT_ITEM_SLOT, current);
+
+        // Conflict notice: someone else saved this item since the session loaded it
+        if (session.conflict != null) {
+            LootConfigManager.LootEntry theirs = session.conflict;
+            String theirName = theirs.customName != null && !theirs.customName.isEmpty() ? theirs.customName : "§8None";
+            menu.setItem(CONFLICT_SLOT, MenuItems.live(Material.ORANGE_STAINED_GLASS_PANE, "§c§lEdit Conflict", List.of(
+                    "§7Another editor saved this item", "§7while you were editing it.", "",
+                    "§7Their version:",
+                    "§8- §7Material: §f" + theirs.material,
+                    "§8- §7Amount: §f" + theirs.amount,
+                    "§8- §7Chance: §f" + theirs.chance + "%",
+                    "§8- §7Name: §f" + theirName,
+                    "",
+                    "§e▶ Click to load their version",
+                    "§e▶ Save again to overwrite it")));
         }
-        menu.setItem(currentSlot, current);
-
-        // Option slots 29..33 (row 3 centered)
-        int baseRow = 3 * 9; // 27
-        int[] opts = {baseRow + 2, baseRow + 3, baseRow + 4, baseRow + 5, baseRow + 6};
-
-        // Swap (bundle)
-        menu.setItem(opts[0], buildMenuItem(Material.BUNDLE, "§a§lSwap Item Here", List.of("§7Drag & drop an item here to set content")));
 
+        // Option slots 30..33 (row 3 centered, after the swap slot)
         // Amount
-        menu.setItem(opts[1], buildMenuItem(Material.HOPPER, "§a§lAmount", List.of("§7Current: §f" + session.entry.amount, "", "§e▶ Click to edit")));
+        menu.setItem(AMOUNT_SLOT, MenuItems.live(Material.HOPPER, "§a§lAmount", List.of("§7Current: §f" + session.entry.amount, "", "§e▶ Click to edit")));
 
         // Name
         String currentName = session.entry.customName != null && !session.entry.customName.isEmpty() ? "§7Current: " + session.entry.customName : "§7Current: §8None";
-        menu.setItem(opts[2], buildMenuItem(Material.NAME_TAG, "§b§lCustom Name", List.of(currentName, "", "§e▶ Click to edit")));
+        menu.setItem(NAME_SLOT, MenuItems.live(Material.NAME_TAG, "§b§lCustom Name", List.of(currentName, "", "§e▶ Click to edit")));
 
         // Chance
-        menu.setItem(opts[3], buildMenuItem(Material.NETHER_STAR, "§d§lChance", List.of("§7Current: §f" + session.entry.chance + "%", "", "§e▶ Click to edit")));
+        menu.setItem(CHANCE_SLOT, MenuItems.live(Material.NETHER_STAR, "§d§lChance", List.of("§7Current: §f" + session.entry.chance + "%", "", "§e▶ Click to edit")));
 
         // Lore
         List<String> loreLines = new ArrayList<>();
@@ -184,180 +293,216 @@ public class EditorMenuManager {
         }
         loreLines.add("");
         loreLines.add("§e▶ Click to edit");
-        menu.setItem(opts[4], buildMenuItem(Material.WRITABLE_BOOK, "§6§lLore", loreLines));
-
-        // Delete / Back / Save (preserve previous slots)
-        menu.setItem(45, buildMenuItem(Material.RED_STAINED_GLASS_PANE, "§c§lDelete Item", List.of("§7Click to delete this loot item", "§c⚠ This cannot be undone!")));
-        menu.setItem(BACK_SLOT, buildMenuItem(Material.IRON_DOOR, "§7Back", List.of("§7Return to Loot Editor")));
-        menu.setItem(53, buildMenuItem(Material.LIME_STAINED_GLASS_PANE, "§a§lSave Changes", List.of("§7Click to save all changes")));
+        menu.setItem(LORE_SLOT, MenuItems.live(Material.WRITABLE_BOOK, "§6§lLore", loreLines));
 
         player.openInventory(menu);
     }
 
     /**
-     * Handles clicks in the item editor menu.
+     * Wraps an item editor action so it only runs while the player has an editing session.
      */
-    private void handleItemEditorClick(Player player, int slot) {
-        EditorSession session = editorSessions.get(player.getUniqueId());
-        if (session == null) return;
-
-        switch (slot) {
-            case 13 -> {
-                // Drop a test copy of the current session item at the player's location
-                LootConfigManager.LootEntry e = session.entry;
-                Material mat = Material.getMaterial(e.material);
-                if (mat == null) mat = Material.BARRIER;
-                int amount = 1;
-                try { amount = Math.max(1, Integer.parseInt(e.amount)); } catch (Exception ignored) {}
-
-                ItemStack test = new ItemStack(mat, amount);
-                ItemMeta tm = test.getItemMeta();
-                if (tm != null) {
-                    if (e.customName != null && !e.customName.isEmpty()) {
-                        tm.displayName(LegacyComponentSerializer.legacyAmpersand().deserialize(e.customName));
-                    }
-                    if (e.lore != null && !e.lore.isEmpty()) {
-                        List<Component> loreComp = new ArrayList<>();
-                        for (String line : e.lore) loreComp.add(LegacyComponentSerializer.legacyAmpersand().deserialize(line));
-                        tm.lore(loreComp);
-                    }
-                    test.setItemMeta(tm);
-                }
-
-                // Drop the item near the player for testing
-                player.getWorld().dropItemNaturally(player.getLocation(), test);
-                msg.send(player, "&aDropped a test item at your feet (preserves name & lore).");
-            }
-            case 29 -> {
-                // swap slot (opened by MenuClickListener due to drag/drop) - tolerate click
-            }
-            case 30 -> showDialog(player, DialogType.AMOUNT, session.entry.amount);
-            case 31 -> showDialog(player, DialogType.NAME, session.entry.customName);
-            case 32 -> showDialog(player, DialogType.CHANCE, String.valueOf(session.entry.chance));
-            case 33 -> {
-                String currentLore = session.entry.lore != null ? String.join("|", session.entry.lore) : "";
-                showDialog(player, DialogType.LORE, currentLore);
-            }
-            case 45 -> {
-                // Delete
-                if (lootConfigManager.deleteLootEntry(session.lootIndex)) {
-                    msg.send(player, "&aLoot item deleted!");
-                    plugin.getLootManager().reload();
-                } else {
-                    msg.send(player, "&cFailed to delete loot item!");
-                }
-                editorSessions.remove(player.getUniqueId());
-                openLootEditorMenu(player);
+    private MenuDefinition.Handler withSession(BiConsumer<Player, EditorSession> action) {
+        return (player, menu) -> {
+            EditorSession session = editorSessions.get(player.getUniqueId());
+            if (session != null) {
+                action.accept(player, session);
             }
-            case BACK_SLOT -> {
-                editorSessions.remove(player.getUniqueId());
-                openLootEditorMenu(player);
+        };
+    }
+
+    /**
+     * Drops a test copy of the current session item at the player's location.
+     */
+    private void dropTestItem(Player player, EditorSession session) {
+        LootConfigManager.LootEntry e = session.entry;
+        Material mat = Material.getMaterial(e.material);
+        if (mat == null) mat = Material.BARRIER;
+        int amount = 1;
+        try { amount = Math.max(1, Integer.parseInt(e.amount)); } catch (Exception ignored) {}
+
+        ItemStack test = new ItemStack(mat, amount);
+        ItemMeta tm = test.getItemMeta();
+        if (tm != null) {
+            if (e.customName != null && !e.customName.isEmpty()) {
+                tm.displayName(LegacyText.ampersand(e.customName));
             }
-            case 53 -> {
-                // Save
-                if (lootConfigManager.updateLootEntry(session.lootIndex, session.entry)) {
-                    msg.send(player, "&aChanges saved successfully!");
-                    plugin.getLootManager().reload();
-                } else {
-                    msg.send(player, "&cFailed to save changes!");
-                }
-                editorSessions.remove(player.getUniqueId());
-                openLootEditorMenu(player);
+            if (e.lore != null && !e.lore.isEmpty()) {
+                List<Component> loreComp = new ArrayList<>();
+                for (String line : e.lore) loreComp.add(LegacyText.ampersand(line));
+                tm.lore(loreComp);
             }
+            test.setItemMeta(tm);
         }
+
+        // Drop the item near the player for testing
+        player.getWorld().dropItemNaturally(player.getLocation(), test);
+        msg.send(player, "&aDropped a test item at your feet (preserves name & lore).");
     }
 
     /**
-     * Centralized menu click entry for Editor-related menus.
+     * Discards this session's changes in favour of the version saved by another editor.
      */
-    public void handleMenuClick(Player player, String title, int slot) {
-        if (title.contains("Editor") && !title.contains("Loot") && !title.contains("Item")) {
-            if (slot == 13) {
-                openLootEditorMenu(player);
-            }
+    private void loadConflictingVersion(Player player, EditorSession session) {
+        if (session.conflict != null) {
+            session.entry = session.conflict.clone();
+            session.conflict = null;
+            msg.send(player, "&aLoaded the latest saved version of this item.");
+            openItemEditorMenu(player, session.entryId);
+        }
+    }
+
+    private void deleteSessionEntry(Player player, EditorSession session) {
+        LootConfigManager.SaveResult result = lootConfigManager.deleteLootEntry(player.getUniqueId(), session.entryId, session.baseRevision);
+        if (result == LootConfigManager.SaveResult.CONFLICT) {
+            showConflict(player, session);
             return;
         }
+        msg.send(player, result == LootConfigManager.SaveResult.SAVED ? "&aLoot item deleted!" : "&cThis loot item was already deleted!");
+        editorSessions.remove(player.getUniqueId());
+        openLootEditorMenu(player);
+    }
 
-        if (title.contains("Loot Editor")) {
-            List<Integer> interiorSlots = getInteriorSlots();
+    private void saveSessionEntry(Player player, EditorSession session) {
+        LootConfigManager.SaveResult result = lootConfigManager.updateLootEntry(player.getUniqueId(), session.entryId, session.entry, session.baseRevision);
+        if (result == LootConfigManager.SaveResult.CONFLICT) {
+            showConflict(player, session);
+            return;
+        }
+        msg.send(player, result == LootConfigManager.SaveResult.SAVED ? "&aChanges saved successfully!" : "&cFailed to save changes: this loot item was deleted!");
+        editorSessions.remove(player.getUniqueId());
+        openLootEditorMenu(player);
+    }
 
-            if (slot == ADD_SLOT) {
-                lootConfigManager.addNewLootEntry();
-                msg.send(player, "&aNew loot item added!");
-                // After adding, jump to last page so the new item is visible
-                List<LootConfigManager.LootEntry> all = lootConfigManager.getAllLootEntries();
-                int capacity = interiorSlots.size();
-                int total = all.size();
-                int lastPage = Math.max(0, (int) Math.ceil((double) total / Math.max(1, capacity)) - 1);
-                lootEditorPages.put(player.getUniqueId(), lastPage);
-                openLootEditorMenu(player);
-                return;
-            }
+    /**
+     * Reports a save or delete that lost a race with another editor. The session keeps its changes and
+     * is rebased onto the other editor's version, so saving again overwrites it deliberately.
+     */
+    private void showConflict(Player player, EditorSession session) {
+        LootConfigManager.LootEntry latest = lootConfigManager.getLootEntry(session.entryId);
+        if (latest == null) {
+            msg.send(player, "&cThis loot item was deleted by another editor!");
+            editorSessions.remove(player.getUniqueId());
+            openLootEditorMenu(player);
+            return;
+        }
+        session.conflict = latest;
+        session.baseRevision = latest.revision;
+        msg.send(player, "&cAnother editor changed this item while you were editing it. Nothing was saved.");
+        msg.send(player, "&7Click &aSave &7again to overwrite their changes, or the warning at the top to load their version.");
+        openItemEditorMenu(player, session.entryId);
+    }
 
-            if (slot == BACK_SLOT) {
-                // clear paging when leaving
-                lootEditorPages.remove(player.getUniqueId());
-                openEditorMenu(player);
-                return;
-            }
+    /**
+     * Adds a new loot entry and shows the page it is on, clearing filters that would hide it.
+     */
+    private void addLootEntry(Player player) {
+        String id = lootConfigManager.addNewLootEntry(player.getUniqueId());
+        msg.send(player, "&aNew loot item added!");
+        LootFilter filter = lootEditorFilters.getOrDefault(player.getUniqueId(), LootFilter.NONE);
+        int position = positionInView(lootConfigManager.view(filter), id);
+        if (position < 0) {
+            filter = LootFilter.NONE.withSort(filter.getSort());
+            lootEditorFilters.put(player.getUniqueId(), filter);
+            position = Math.max(0, positionInView(lootConfigManager.view(filter), id));
+            msg.send(player, "&7Search and filters cleared to show the new item.");
+        }
+        lootEditorPages.put(player.getUniqueId(), position / Math.max(1, lootEditorMenu.getPageCapacity()));
+        openLootEditorMenu(player);
+    }
 
-            if (slot == GET_ALL_SLOT) {
-                // Give player all configured loot items
-                giveAllLootItems(player);
-                return;
-            }
+    /**
+     * Moves the player's loot editor one page back (-1) or forward (1), if that page exists.
+     */
+    private void changePage(Player player, int direction) {
+        int page = lootEditorPages.getOrDefault(player.getUniqueId(), 0) + direction;
+        if (page < 0) {
+            msg.send(player, "&7Already on the first page.");
+            return;
+        }
+        LootFilter filter = lootEditorFilters.getOrDefault(player.getUniqueId(), LootFilter.NONE);
+        if (page > lootEditorMenu.lastPage(lootConfigManager.view(filter).size())) {
+            msg.send(player, "&7No more pages.");
+            return;
+        }
+        lootEditorPages.put(player.getUniqueId(), page);
+        openLootEditorMenu(player);
+    }
 
-            if (slot == SORT_SLOT) {
-                sortLootByChance(player);
-                return;
-            }
+    /**
+     * Opens the item editor for the entry that was shown in a page slot when the page was opened.
+     */
+    private void handleLootEntryClick(Player player, MenuHolder menu, int index) {
+        List<String> pageIds = menu.getEntryIds();
+        if (index < pageIds.size()) {
+            openItemEditorMenu(player, pageIds.get(index));
+        } else {
+            msg.send(player, "&7No loot item in that slot.");
+        }
+    }
 
-            if (slot == PREV_PAGE_SLOT) {
-                // Go to previous page if possible
-                int page = lootEditorPages.getOrDefault(player.getUniqueId(), 0);
-                if (page > 0) {
-                    lootEditorPages.put(player.getUniqueId(), page - 1);
-                    openLootEditorMenu(player);
-                } else {
-                    msg.send(player, "&7Already on the first page.");
-                }
-                return;
-            }
+    /**
+     * Asks the player to type a search or chance range in chat.
+     */
+    private void promptFilter(Player player, FilterPrompt prompt) {
+        filterPrompts.put(player.getUniqueId(), prompt);
+        plugin.getServer().getScheduler().runTask(plugin, () -> player.closeInventory());
+        msg.send(player, "&e&lInput Required");
+        msg.send(player, prompt == FilterPrompt.SEARCH ? "§7Enter words to search for in material, name and lore" : "§7Enter a chance range (e.g. 10-50) or a single chance");
+        msg.send(player, "&7Type your value in chat, &eclear &7to remove it, or &ccancel &7to go back.");
+    }
 
-            if (slot == NEXT_PAGE_SLOT) {
-                // Advance page if possible
-                List<LootConfigManager.LootEntry> all = lootConfigManager.getAllLootEntries();
-                int capacity = interiorSlots.size();
-                int total = all.size();
-                int page = lootEditorPages.getOrDefault(player.getUniqueId(), 0);
-                int maxPage = Math.max(0, (int) Math.ceil((double) total / Math.max(1, capacity)) - 1);
-                if (page < maxPage) {
-                    lootEditorPages.put(player.getUniqueId(), page + 1);
-                    openLootEditorMenu(player);
-                } else {
-                    msg.send(player, "&7No more pages.");
-                }
-                return;
+    private static int positionInView(List<LootConfigManager.LootEntry> view, String id) {
+        for (int i = 0; i < view.size(); i++) {
+            if (view.get(i).id.equals(id)) {
+                return i;
             }
+        }
+        return -1;
+    }
 
-            int index = interiorSlots.indexOf(slot);
-            if (index != -1) {
-                // Compute the global loot index using current page
-                int page = lootEditorPages.getOrDefault(player.getUniqueId(), 0);
-                int capacity = interiorSlots.size();
-                int globalIndex = page * capacity + index;
-                List<LootConfigManager.LootEntry> all = lootConfigManager.getAllLootEntries();
-                if (globalIndex >= 0 && globalIndex < all.size()) {
-                    openItemEditorMenu(player, globalIndex);
-                } else {
-                    msg.send(player, "&7No loot item in that slot.");
-                }
-            }
+    /**
+     * Changes a player's loot editor view and shows its first page.
+     */
+    private void updateFilter(Player player, UnaryOperator<LootFilter> change) {
+        lootEditorFilters.put(player.getUniqueId(), change.apply(lootEditorFilters.getOrDefault(player.getUniqueId(), LootFilter.NONE)));
+        lootEditorPages.put(player.getUniqueId(), 0);
+        openLootEditorMenu(player);
+    }
+
+    /**
+     * Applies a search or chance range typed in chat, then reopens the loot editor.
+     */
+    private void handleFilterResponse(Player player, FilterPrompt prompt, String response) {
+        String input = response.trim();
+        if (input.equalsIgnoreCase("cancel") || input.equalsIgnoreCase("back")) {
+            msg.send(player, "&7Input cancelled.");
+            openLootEditorMenu(player);
+            return;
+        }
+        boolean clear = input.equalsIgnoreCase("clear");
+
+        if (prompt == FilterPrompt.SEARCH) {
+            updateFilter(player, filter -> filter.withQuery(clear ? "" : input));
             return;
         }
 
-        if (title.contains("Item Editor")) {
-            handleItemEditorClick(player, slot);
+        if (clear) {
+            updateFilter(player, filter -> filter.withChanceRange(0, 100));
+            return;
+        }
+        try {
+            String[] bounds = input.replace("%", "").split("-", 2);
+            double min = Double.parseDouble(bounds[0].trim());
+            double max = bounds.length > 1 ? Double.parseDouble(bounds[1].trim()) : min;
+            if (min < 0 || max > 100 || min > max) {
+                msg.send(player, "&cChance range must be within 0-100, lowest first!");
+                openLootEditorMenu(player);
+                return;
+            }
+            updateFilter(player, filter -> filter.withChanceRange(min, max));
+        } catch (NumberFormatException e) {
+            msg.send(player, "&cInvalid number format! Please enter a range like 10-50.");
+            openLootEditorMenu(player);
         }
     }
 
@@ -403,6 +548,12 @@ public class EditorMenuManager {
      * Handles dialog response from chat input.
      */
     public void handleDialogResponse(Player player, String response) {
+        FilterPrompt prompt = filterPrompts.remove(player.getUniqueId());
+        if (prompt != null) {
+            handleFilterResponse(player, prompt, response == null ? "cancel" : response);
+            return;
+        }
+
         EditorSession session = editorSessions.get(player.getUniqueId());
         if (session == null) {
             msg.send(player, "&cNo active editing session! Please reopen the editor.");
@@ -413,7 +564,7 @@ public class EditorMenuManager {
 
         if (response == null || response.equalsIgnoreCase("back") || response.equalsIgnoreCase("cancel")) {
             msg.send(player, "&7Input cancelled.");
-            openItemEditorMenu(player, session.lootIndex);
+            openItemEditorMenu(player, session.entryId);
             return;
         }
 
@@ -449,29 +600,17 @@ public class EditorMenuManager {
             }
         }
 
-        openItemEditorMenu(player, session.lootIndex);
+        openItemEditorMenu(player, session.entryId);
     }
 
     public boolean isAwaitingChatInput(Player player) {
+        if (filterPrompts.containsKey(player.getUniqueId())) {
+            return true;
+        }
         EditorSession session = editorSessions.get(player.getUniqueId());
         return session != null && session.awaitingChatInput;
     }
 
-    /**
-     * Returns a list of interior slot indices in the 54-slot loot menu (non-border slots).
-     */
-    private List<Integer> getInteriorSlots() {
-        List<Integer> interiorSlots = new ArrayList<>();
-        for (int i = 0; i < LOOT_MENU_SIZE; i++) {
-            int row = i / 9;
-            int col = i % 9;
-            if (row != 0 && row != 5 && col != 0 && col != 8) {
-                interiorSlots.add(i);
-            }
-        }
-        return interiorSlots;
-    }
-
     /**
      * Opens the content editor (single-slot) where players can swap the actual item.
      */
@@ -482,11 +621,7 @@ public class EditorMenuManager {
             return;
         }
 
-        Component title = LegacyComponentSerializer.legacySection().deserialize("§0Content");
-        Inventory menu = Bukkit.createInventory(null, LOOT_MENU_SIZE, title);
-
-        // Apply standard border and filler
-        applyMenuBorderAndFiller(menu);
+        Inventory menu = contentMenu.createInventory();
 
         int contentSlot = 22;
         ItemStack center;
@@ -496,10 +631,10 @@ public class EditorMenuManager {
             center = new ItemStack(mat);
             ItemMeta cm = center.getItemMeta();
             if (cm != null) {
-                if (session.entry.customName != null && !session.entry.customName.isEmpty()) cm.displayName(LegacyComponentSerializer.legacySection().deserialize(session.entry.customName));
+                if (session.entry.customName != null && !session.entry.customName.isEmpty()) cm.displayName(LegacyText.section(session.entry.customName));
                 if (session.entry.lore != null && !session.entry.lore.isEmpty()) {
                     List<Component> loreComp = new ArrayList<>();
-                    for (String line : session.entry.lore) loreComp.add(LegacyComponentSerializer.legacySection().deserialize(line));
+                    for (String line : session.entry.lore) loreComp.add(LegacyText.section(line));
                     cm.lore(loreComp);
                 }
                 center.setItemMeta(cm);
@@ -507,14 +642,10 @@ public class EditorMenuManager {
         } else {
             center = new ItemStack(Material.LIGHT_GRAY_STAINED_GLASS_PANE);
             ItemMeta pm = center.getItemMeta();
-            if (pm != null) pm.displayName(LegacyComponentSerializer.legacySection().deserialize("§7Place your item here (only slot 22 is active)"));
+            if (pm != null) pm.displayName(LegacyText.section("§7Place your item here (only slot 22 is active)"));
         }
         menu.setItem(contentSlot, center);
 
-        // Back & Save
-        menu.setItem(BACK_SLOT, buildMenuItem(Material.IRON_DOOR, "§7Back", null));
-        menu.setItem(53, buildMenuItem(Material.LIME_STAINED_GLASS_PANE, "§aSave", null));
-
         player.openInventory(menu);
     }
 
@@ -557,14 +688,48 @@ public class EditorMenuManager {
     public void handleContentSave(Player player) {
         EditorSession session = editorSessions.get(player.getUniqueId());
         if (session == null) return;
-        boolean ok = lootConfigManager.updateLootEntry(session.lootIndex, session.entry);
-        if (ok) {
-            msg.send(player, "&aContent saved to loot.yml");
-            plugin.getLootManager().reload();
-        } else {
-            msg.send(player, "&cFailed to save content to loot.yml");
+        LootConfigManager.SaveResult result = lootConfigManager.updateLootEntry(player.getUniqueId(), session.entryId, session.entry, session.baseRevision);
+        switch (result) {
+            case SAVED -> {
+                // Later saves in this session build on the version just saved
+                session.baseRevision = lootConfigManager.getLootEntry(session.entryId).revision;
+                session.conflict = null;
+                msg.send(player, "&aContent saved to loot.yml");
+            }
+            case CONFLICT -> {
+                showConflict(player, session);
+                return;
+            }
+            case MISSING -> {
+                msg.send(player, "&cFailed to save content: this loot item was deleted!");
+                editorSessions.remove(player.getUniqueId());
+                openLootEditorMenu(player);
+                return;
+            }
+        }
+        openItemEditorMenu(player, session.entryId);
+    }
+
+    /**
+     * Gets the display item of an entry, building it only if the entry changed since it was last shown.
+     * Revisions are never reused, so a matching revision means the cached item shows this exact entry.
+     */
+    private ItemStack getLootDisplayItem(LootConfigManager.LootEntry entry) {
+        DisplayItem cached = displayItems.get(entry.id);
+        if (cached == null || cached.revision() != entry.revision) {
+            cached = new DisplayItem(entry.revision, createLootDisplayItem(entry));
+            displayItems.put(entry.id, cached);
+        }
+        return cached.item();
+    }
+
+    /**
+     * Drops the display items of deleted entries. Only scans when there are more items than entries.
+     */
+    private void pruneDisplayItems() {
+        if (displayItems.size() > lootConfigManager.getAllLootEntries().size()) {
+            displayItems.keySet().removeIf(id -> lootConfigManager.getLootEntry(id) == null);
         }
-        openItemEditorMenu(player, session.lootIndex);
     }
 
     private ItemStack createLootDisplayItem(LootConfigManager.LootEntry entry) {
@@ -574,13 +739,13 @@ public class EditorMenuManager {
         ItemMeta meta = item.getItemMeta();
         if (meta != null) {
             String displayName = entry.customName != null && !entry.customName.isEmpty() ? entry.customName : "§f" + entry.material;
-            meta.displayName(LegacyComponentSerializer.legacySection().deserialize(displayName));
+            meta.displayName(LegacyText.section(displayName));
             List<Component> lore = new ArrayList<>();
-            lore.add(LegacyComponentSerializer.legacySection().deserialize("§7Material: §f" + entry.material));
-            lore.add(LegacyComponentSerializer.legacySection().deserialize("§7Amount: §f" + entry.amount));
-            lore.add(LegacyComponentSerializer.legacySection().deserialize("§7Chance: §f" + entry.chance + "%"));
+            lore.add(LegacyText.sectionUncached("§7Material: §f" + entry.material));
+            lore.add(LegacyText.sectionUncached("§7Amount: §f" + entry.amount));
+            lore.add(LegacyText.sectionUncached("§7Chance: §f" + entry.chance + "%"));
             lore.add(Component.empty());
-            lore.add(LegacyComponentSerializer.legacySection().deserialize("§e▶ Click to edit"));
+            lore.add(LegacyText.section("§e▶ Click to edit"));
             meta.lore(lore);
             item.setItemMeta(meta);
         }
@@ -590,124 +755,55 @@ public class EditorMenuManager {
     public void clearSession(UUID playerId) { editorSessions.remove(playerId); }
 
     private static class EditorSession {
-        int lootIndex;
+        String entryId;
         LootConfigManager.LootEntry entry;
+        // Revision of the saved entry this session's changes are based on
+        long baseRevision;
+        // Latest saved version after a failed save, shown until resolved
+        LootConfigManager.LootEntry conflict;
         DialogType dialogType;
         boolean awaitingChatInput;
 
-        EditorSession(int lootIndex, LootConfigManager.LootEntry entry) {
-            this.lootIndex = lootIndex;
+        EditorSession(String entryId, LootConfigManager.LootEntry entry) {
+            this.entryId = entryId;
             this.entry = entry.clone();
+            this.baseRevision = entry.revision;
             this.awaitingChatInput = false;
         }
     }
 
     public enum DialogType { CHANCE, NAME, AMOUNT, LORE }
 
-    public int getSessionIndex(Player player) {
+    // Never modified once built: inventories copy the stacks they are given
+    private record DisplayItem(long revision, ItemStack item) { }
+
+    private enum FilterPrompt { SEARCH, CHANCE }
+
+    /**
+     * Gets the id of the loot entry the player is editing, or null if there is no session.
+     */
+    public String getSessionEntryId(Player player) {
         EditorSession session = editorSessions.get(player.getUniqueId());
-        return session != null ? session.lootIndex : -1;
+        return session != null ? session.entryId : null;
     }
 
     /**
-     * Give all loot items to the player, preserving name & lore.
+     * Give all loot items to the player, preserving name, lore & enchantments.
+     * The items are copies of the compiled loot table templates, so nothing is parsed or resolved per click.
      */
     private void giveAllLootItems(Player player) {
-        List<LootConfigManager.LootEntry> all = lootConfigManager.getAllLootEntries();
+        List<ItemStack> all = plugin.getLootManager().createLootItemCopies();
         if (all.isEmpty()) {
             msg.send(player, "&7No loot items configured.");
             return;
         }
 
-        for (LootConfigManager.LootEntry e : all) {
-            Material mat = Material.getMaterial(e.material);
-            if (mat == null) mat = Material.BARRIER;
-            int amount = 1;
-            try { amount = Math.max(1, Integer.parseInt(e.amount)); } catch (NumberFormatException ignored) {}
-
-            ItemStack is = new ItemStack(mat, amount);
-            ItemMeta im = is.getItemMeta();
-            if (im != null) {
-                if (e.customName != null && !e.customName.isEmpty()) {
-                    im.displayName(LegacyComponentSerializer.legacyAmpersand().deserialize(e.customName));
-                }
-                if (e.lore != null && !e.lore.isEmpty()) {
-                    List<Component> loreComp = new ArrayList<>();
-                    for (String line : e.lore) loreComp.add(LegacyComponentSerializer.legacyAmpersand().deserialize(line));
-                    im.lore(loreComp);
-                }
-                is.setItemMeta(im);
-            }
-
-            // Try to add to inventory; if full, drop at player's location
-            HashMap<Integer, ItemStack> leftover = player.getInventory().addItem(is);
-            if (!leftover.isEmpty()) {
-                player.getWorld().dropItemNaturally(player.getLocation(), is);
+        for (ItemStack is : all) {
+            // Try to add to inventory; if full, drop what didn't fit at player's location
+            for (ItemStack leftover : player.getInventory().addItem(is).values()) {
+                player.getWorld().dropItemNaturally(player.getLocation(), leftover);
             }
         }
         msg.send(player, "&aAll loot items have been given to you (check inventory). If full, items were dropped on the ground.");
     }
-
-    /**
-     * Sort loot entries by chance descending and persist.
-     */
-    private void sortLootByChance(Player player) {
-        boolean ok = lootConfigManager.sortByChanceDescending();
-        if (ok) {
-            msg.send(player, "&aLoot entries sorted by chance (high → low).");
-            openLootEditorMenu(player);
-        } else {
-            msg.send(player, "&cFailed to sort loot entries.");
-        }
-    }
-
-    /**
-     * Apply the standard border and filler to a menu (used in multiple places to avoid code duplication).
-     */
-    private void applyMenuBorderAndFiller(Inventory menu) {
-        // Create border (black) and interior filler (gray)
-        ItemStack border = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        ItemMeta borderMeta = border.getItemMeta();
-        if (borderMeta != null) borderMeta.displayName(LegacyComponentSerializer.legacySection().deserialize("§8 "));
-        if (borderMeta != null) border.setItemMeta(borderMeta);
-
-        ItemStack interior = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-        ItemMeta intMeta = interior.getItemMeta();
-        if (intMeta != null) intMeta.displayName(LegacyComponentSerializer.legacySection().deserialize("§8 "));
-        if (intMeta != null) interior.setItemMeta(intMeta);
-
-        // Fill all slots with interior then overwrite border slots with black panes
-        for (int i = 0; i < LOOT_MENU_SIZE; i++) {
-            menu.setItem(i, interior.clone());
-        }
-        for (int i = 0; i < LOOT_MENU_SIZE; i++) {
-            int row = i / 9;
-            int col = i % 9;
-            if (row == 0 || row == 5 || col == 0 || col == 8) {
-                menu.setItem(i, border.clone());
-            }
-        }
-    }
-
-    /**
-     * Small helper that builds a menu ItemStack with display name and lore (supports empty lines using empty strings).
-     */
-    private ItemStack buildMenuItem(Material material, String display, List<String> loreLines) {
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        if (meta != null) {
-            if (display != null) meta.displayName(LegacyComponentSerializer.legacySection().deserialize(display));
-            if (loreLines != null && !loreLines.isEmpty()) {
-                List<Component> lore = new ArrayList<>();
-                for (String l : loreLines) {
-                    if (l == null || l.isEmpty()) lore.add(Component.empty());
-                    else lore.add(LegacyComponentSerializer.legacySection().deserialize(l));
-                }
-                meta.lore(lore);
-            }
-            item.setItemMeta(meta);
-        }
-        return item;
-    }
-
 }
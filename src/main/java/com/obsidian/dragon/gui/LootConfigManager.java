@@ -1,197 +1,510 @@
 package com.obsidian.dragon.gui;
 
+import com.obsidian.dragon.util.AtomicFileWriter;
+import com.obsidian.dragon.util.PersistentHashMap;
+import com.obsidian.dragon.util.PersistentVector;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Manages reading and writing to loot.yml configuration.
+ * Holds the authoritative loot list shared by the editor and the runtime loot table: every read is
+ * served from memory, and every edit is handed to the loot table right away as well as saved.
+ * Edits replace the in-memory list, bump its version and are written back to disk in the background:
+ * a burst of edits is coalesced into one write, and loot.yml is replaced atomically.
+ * Every entry carries a persistent id (stored in loot.yml), so editors address entries by id
+ * rather than by position and are unaffected when other entries are added, moved or deleted.
+ * Each editor (player, or the console) has their own undo and redo history. A step records the entry
+ * it changed before and after the edit, and is only undone or redone while that entry is still in the
+ * state the step left it in, so undoing never reverts another editor's work. Entries are shared
+ * between versions, so a long history costs little memory. Saving and adding entries (and undoing
+ * or redoing saves) is cheap at any list size; removing an entry, by deleting it or undoing its
+ * addition, or putting a deleted one back, rebuilds the list and its index, since loot.yml keeps
+ * its order.
+ * Each entry also carries a revision stamp that changes whenever it is saved. Saves and deletes are
+ * compare-and-set against the revision the editor started from, so concurrent editors never silently
+ * overwrite each other's changes and no editor has to wait for another.
  */
 public class LootConfigManager {
 
+    // Entry keys edited through LootEntry fields
+    private static final Set<String> EDITOR_KEYS = Set.of("id", "material", "amount", "chance", "name", "lore", "enchantments");
+    // How long to wait for further edits before writing loot.yml
+    private static final long FLUSH_DELAY_MS = 500;
+    // Number of edits each editor can undo
+    private static final int HISTORY_LIMIT = 5000;
+
+    /**
+     * History owner of edits made from the console.
+     */
+    public static final UUID CONSOLE_EDITOR = new UUID(0L, 0L);
+
     private final JavaPlugin plugin;
     private final File lootFile;
+    // Writes loot.yml off the main thread, one flush at a time
+    private final ScheduledExecutorService writer;
+    // Whether a flush is already waiting to run
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Source of entry revision stamps; never reused, so a stamp identifies one saved state of an entry
+    private final AtomicLong revisions = new AtomicLong();
+    // Current loot list (never modified in place), or null until loaded
+    private volatile LootList entries;
+    // Incremented on every change to the loot list
+    private volatile long version;
+    // Version most recently written to (or read from) disk
+    private volatile long flushedVersion;
+    // Edits of each editor, most recent first (main thread)
+    private final Map<UUID, Deque<Edit>> undoHistory = new HashMap<>();
+    // Edits each editor undid since their last edit, most recent first (main thread)
+    private final Map<UUID, Deque<Edit>> redoHistory = new HashMap<>();
+    // Receives the item definitions of every edited loot list (main thread)
+    private Consumer<List<Map<String, Object>>> changeListener = definitions -> { };
+    // Receives the content of loot.yml just before each write (writer thread)
+    private volatile Consumer<byte[]> writeListener = content -> { };
 
     public LootConfigManager(JavaPlugin plugin) {
         this.plugin = plugin;
         this.lootFile = new File(plugin.getDataFolder(), "loot.yml");
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ObsidianDragon-LootWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
-     * Gets all loot entries from the configuration.
+     * Gets all loot entries. The list and its entries are shared and must not be modified;
+     * clone an entry before editing it.
      */
     public List<LootEntry> getAllLootEntries() {
-        List<LootEntry> entries = new ArrayList<>();
+        return current().entries;
+    }
 
-        if (!lootFile.exists()) {
-            return entries;
+    /**
+     * Gets the entries matching a filter, in the filter's order. Searching uses a word index of the
+     * current list, built on first use; nothing is read from disk and the list itself is not reordered.
+     * The returned list and its entries are shared and must not be modified.
+     */
+    public List<LootEntry> view(LootFilter filter) {
+        LootList current = current();
+        if (!filter.isFiltering() && filter.getSort().comparator() == null) {
+            return current.entries;
         }
 
-        try {
-            FileConfiguration config = YamlConfiguration.loadConfiguration(lootFile);
-            List<?> lootList = config.getList("loot");
-
-            if (lootList == null) {
-                return entries;
+        BitSet candidates = current.searchIndex().matching(filter.getQuery());
+        List<LootEntry> matches = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            LootEntry entry = current.entries.get(i);
+            if (filter.accepts(entry)) {
+                matches.add(entry);
             }
+        }
+        if (filter.getSort().comparator() != null) {
+            matches.sort(filter.getSort().comparator());
+        }
+        return Collections.unmodifiableList(matches);
+    }
 
-            int index = 0;
-            for (Object obj : lootList) {
-                ConfigurationSection section;
-                if (obj instanceof ConfigurationSection) {
-                    section = (ConfigurationSection) obj;
-                } else if (obj instanceof Map) {
-                    section = config.createSection("temp_" + index, (Map<?, ?>) obj);
-                } else {
-                    continue;
-                }
+    /**
+     * Gets a loot entry by its id. The entry is shared and must not be modified.
+     *
+     * @return The entry, or null if no entry has that id (e.g. it was deleted)
+     */
+    public LootEntry getLootEntry(String id) {
+        return current().get(id);
+    }
+
+    /**
+     * Gets the version of the loot list, which changes whenever the list is edited or re-read.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Replaces the loot entry with the given id, wherever it currently is in the list,
+     * provided it has not been saved by anyone else since the editor loaded it.
+     *
+     * @param editor           Owner of the undo history the edit is recorded in
+     * @param expectedRevision The revision of the entry the edit started from
+     * @return SAVED, CONFLICT if the entry has since been changed, or MISSING if it was deleted
+     */
+    public SaveResult updateLootEntry(UUID editor, String id, LootEntry newEntry, long expectedRevision) {
+        LootList current = current();
+        Integer position = current.positions.get(id);
+        if (position == null) {
+            return SaveResult.MISSING;
+        }
+        LootEntry previous = current.entries.get(position);
+        if (previous.revision != expectedRevision) {
+            return SaveResult.CONFLICT;
+        }
+        LootEntry replacement = newEntry.clone();
+        replacement.id = id;
+        replacement.revision = revisions.incrementAndGet();
+        commit(editor, new EntryEdit(id, position, previous, replacement), current.replacing(position, replacement));
+        return SaveResult.SAVED;
+    }
+
+    /**
+     * Deletes the loot entry with the given id, provided it has not been saved by anyone else
+     * since the editor loaded it.
+     * Unlike saves and additions, a delete takes time proportional to the list size: loot.yml keeps its
+     * order, so every later entry moves up one position and the list and its id index are rebuilt.
+     *
+     * @param editor           Owner of the undo history the delete is recorded in
+     * @param expectedRevision The revision of the entry the editor last saw
+     * @return SAVED, CONFLICT if the entry has since been changed, or MISSING if it was already deleted
+     */
+    public SaveResult deleteLootEntry(UUID editor, String id, long expectedRevision) {
+        LootList current = current();
+        Integer position = current.positions.get(id);
+        if (position == null) {
+            return SaveResult.MISSING;
+        }
+        LootEntry previous = current.entries.get(position);
+        if (previous.revision != expectedRevision) {
+            return SaveResult.CONFLICT;
+        }
+        commit(editor, new EntryEdit(id, position, previous, null), current.removing(position));
+        return SaveResult.SAVED;
+    }
+
+    /**
+     * Adds a new default loot entry at the end of the list.
+     *
+     * @param editor Owner of the undo history the addition is recorded in
+     * @return The id of the new entry
+     */
+    public String addNewLootEntry(UUID editor) {
+        // Create new default entry
+        LootEntry newEntry = new LootEntry();
+        newEntry.material = "DIAMOND";
+        newEntry.amount = "1";
+        newEntry.chance = 100.0;
+        newEntry.customName = "&bNew Loot Item";
+        newEntry.lore = new ArrayList<>();
+        newEntry.lore.add("&7Edit this item");
+        newEntry.enchantments = new ArrayList<>();
+
+        LootList current = current();
+        newEntry.id = newId(current.positions::containsKey);
+        newEntry.revision = revisions.incrementAndGet();
+        commit(editor, new EntryEdit(newEntry.id, current.entries.size(), null, newEntry), current.inserting(current.entries.size(), newEntry));
+        return newEntry.id;
+    }
 
-                // parseLootEntry always returns a non-null LootEntry (with defaults), so add directly
-                LootEntry entry = parseLootEntry(section);
-                entries.add(entry);
-                index++;
+    /**
+     * Replaces the whole loot list in one step (e.g. with an imported one). Entries keep their ids
+     * and entries without one get a fresh id. The replacement can be undone as long as nobody has edited
+     * the list since.
+     *
+     * @param editor Owner of the undo history the replacement is recorded in
+     * @throws IllegalArgumentException if two entries have the same id; nothing is changed
+     */
+    public void replaceAll(UUID editor, List<LootEntry> replacement) {
+        Set<String> ids = new HashSet<>();
+        for (LootEntry entry : replacement) {
+            if (entry.id != null && !entry.id.isBlank() && !ids.add(entry.id)) {
+                throw new IllegalArgumentException("Duplicate loot entry id '" + entry.id + "'");
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to load loot entries: " + e.getMessage());
         }
+        List<LootEntry> updated = new ArrayList<>(replacement.size());
+        for (LootEntry entry : replacement) {
+            LootEntry copy = entry.clone();
+            if (copy.id == null || copy.id.isBlank()) {
+                copy.id = newId(ids::contains);
+                ids.add(copy.id);
+            }
+            copy.revision = revisions.incrementAndGet();
+            updated.add(copy);
+        }
+        LootList current = current();
+        LootList replaced = LootList.of(updated);
+        commit(editor, new ListEdit(current, replaced), replaced);
+    }
 
-        return entries;
+    /**
+     * Reverts an editor's most recent edit (or redo). An edit whose entry has since been changed by
+     * someone else is not reverted; it is dropped from the history instead, since it can no longer apply.
+     *
+     * @return DONE, EMPTY if there is nothing to undo, or CONFLICT if the edit was dropped
+     */
+    public HistoryResult undo(UUID editor) {
+        return step(editor, undoHistory, redoHistory, true);
+    }
+
+    /**
+     * Re-applies an editor's most recently undone edit, under the same conditions as {@link #undo(UUID)}.
+     *
+     * @return DONE, EMPTY if there is nothing to redo, or CONFLICT if the edit was dropped
+     */
+    public HistoryResult redo(UUID editor) {
+        return step(editor, redoHistory, undoHistory, false);
+    }
+
+    public int getUndoCount(UUID editor) {
+        Deque<Edit> history = undoHistory.get(editor);
+        return history != null ? history.size() : 0;
+    }
+
+    public int getRedoCount(UUID editor) {
+        Deque<Edit> history = redoHistory.get(editor);
+        return history != null ? history.size() : 0;
+    }
+
+    /**
+     * Moves an editor's most recent edit from one history to the other, applying it (or its inverse).
+     */
+    private HistoryResult step(UUID editor, Map<UUID, Deque<Edit>> from, Map<UUID, Deque<Edit>> to, boolean revert) {
+        Deque<Edit> source = from.get(editor);
+        if (source == null || source.isEmpty()) {
+            return HistoryResult.EMPTY;
+        }
+        Edit edit = source.pop();
+        LootList updated = (revert ? edit.inverse() : edit).applyTo(current());
+        if (updated == null) {
+            return HistoryResult.CONFLICT;
+        }
+        to.computeIfAbsent(editor, key -> new ArrayDeque<>()).push(edit);
+        publish(updated);
+        return HistoryResult.DONE;
     }
 
     /**
-     * Gets a specific loot entry by index.
+     * Replaces the loot list with item definitions freshly read from loot.yml, without reading the file again.
+     * Entries whose content did not change keep their revision, so open editors of them are unaffected.
+     * Edits not yet written take precedence and are kept; they are handed to the loot table again, since
+     * the table was just rebuilt from the file without them. When the file's content differs from the list,
+     * the edit history is cleared, since it no longer leads to the file's content; a file that only
+     * reflects the list (e.g. our own write) leaves the list and its history alone.
+     *
+     * @param definitions The raw entries of the "loot" list
      */
-    public LootEntry getLootEntry(int index) {
-        List<LootEntry> entries = getAllLootEntries();
-        if (index >= 0 && index < entries.size()) {
-            return entries.get(index);
+    public void resetFromDisk(List<?> definitions) {
+        if (version != flushedVersion) {
+            changeListener.accept(toDefinitions(entries.entries));
+            return;
+        }
+        LootList previous = entries;
+        LootList loaded = readEntries(new YamlConfiguration(), definitions, previous);
+        if (previous != null && loaded.sameEntriesAs(previous)) {
+            return;
         }
-        return null;
+        entries = loaded;
+        undoHistory.clear();
+        redoHistory.clear();
+        markLoaded();
     }
 
     /**
-     * Updates a loot entry at the specified index.
+     * Sets the callback that receives the item definitions of the loot list after every edit.
+     * Called on the main thread.
      */
-    public boolean updateLootEntry(int index, LootEntry newEntry) {
+    public void setChangeListener(Consumer<List<Map<String, Object>>> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Sets the callback that receives the full content of loot.yml just before it is written,
+     * e.g. so a file watcher can tell the manager's own writes from external edits.
+     * Called on the writer thread.
+     */
+    public void setWriteListener(Consumer<byte[]> writeListener) {
+        this.writeListener = writeListener;
+    }
+
+    /**
+     * Writes any pending changes and stops the writer thread.
+     */
+    public void shutdown() {
+        writer.execute(this::flush);
+        writer.shutdown();
         try {
-            FileConfiguration config = YamlConfiguration.loadConfiguration(lootFile);
-            List<Map<String, Object>> lootList = new ArrayList<>();
-
-            // Load existing entries
-            List<?> existingLoot = config.getList("loot");
-            if (existingLoot != null) {
-                for (Object obj : existingLoot) {
-                    if (obj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> map = new LinkedHashMap<>((Map<String, Object>) obj);
-                        lootList.add(map);
-                    } else if (obj instanceof ConfigurationSection section) {
-                        lootList.add(sectionToMap(section));
-                    }
-                }
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for loot.yml to be written!");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            // Update the specific entry
-            if (index >= 0 && index < lootList.size()) {
-                lootList.set(index, entryToMap(newEntry));
-            }
+    private LootList current() {
+        LootList current = entries;
+        if (current == null) {
+            current = loadEntries();
+            entries = current;
+            markLoaded();
+        }
+        return current;
+    }
 
-            // Save back to file
-            config.set("loot", lootList);
-            config.save(lootFile);
-            return true;
+    /**
+     * Records that the current list matches loot.yml, unless ids had to be assigned while reading it,
+     * in which case the list is written back so those ids persist.
+     */
+    private void markLoaded() {
+        flushedVersion = ++version;
+        if (entries.assignedIds) {
+            flushedVersion--;
+            scheduleFlush();
+        }
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to update loot entry: " + e.getMessage());
-            return false;
+    /**
+     * Makes an edited list current and records the edit in the editor's undo history.
+     */
+    private void commit(UUID editor, Edit edit, LootList updated) {
+        Deque<Edit> history = undoHistory.computeIfAbsent(editor, key -> new ArrayDeque<>());
+        history.push(edit);
+        if (history.size() > HISTORY_LIMIT) {
+            history.removeLast();
         }
+        redoHistory.remove(editor);
+        publish(updated);
     }
 
     /**
-     * Deletes a loot entry at the specified index.
+     * Makes a list current, hands it to the loot table and schedules it to be written to disk.
      */
-    public boolean deleteLootEntry(int index) {
-        try {
-            FileConfiguration config = YamlConfiguration.loadConfiguration(lootFile);
-            List<Map<String, Object>> lootList = new ArrayList<>();
-
-            // Load existing entries
-            List<?> existingLoot = config.getList("loot");
-            if (existingLoot != null) {
-                for (Object obj : existingLoot) {
-                    if (obj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> map = new LinkedHashMap<>((Map<String, Object>) obj);
-                        lootList.add(map);
-                    } else if (obj instanceof ConfigurationSection section) {
-                        lootList.add(sectionToMap(section));
-                    }
-                }
-            }
+    private void publish(LootList updated) {
+        entries = updated;
+        version++;
+        changeListener.accept(toDefinitions(updated.entries));
+        scheduleFlush();
+    }
 
-            // Remove the entry
-            if (index >= 0 && index < lootList.size()) {
-                lootList.remove(index);
-            }
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
 
-            // Save back to file
-            config.set("loot", lootList);
-            config.save(lootFile);
-            return true;
+    /**
+     * Converts loot entries to the maps stored in loot.yml.
+     */
+    private List<Map<String, Object>> toDefinitions(List<LootEntry> snapshot) {
+        List<Map<String, Object>> definitions = new ArrayList<>(snapshot.size());
+        for (LootEntry entry : snapshot) {
+            definitions.add(toDefinition(entry));
+        }
+        return definitions;
+    }
 
+    /**
+     * Writes the current loot list to loot.yml, keeping every other section of the file.
+     * Runs on the writer thread and writes whatever version is current by then.
+     */
+    private void flush() {
+        // Edits from here on need another flush
+        flushScheduled.set(false);
+        long flushing = version;
+        LootList snapshot = entries;
+        if (flushing == flushedVersion || snapshot == null) {
+            return;
+        }
+
+        try {
+            FileConfiguration config = YamlConfiguration.loadConfiguration(lootFile);
+            config.set("loot", toDefinitions(snapshot.entries));
+            String content = config.saveToString();
+            writeListener.accept(content.getBytes(StandardCharsets.UTF_8));
+            AtomicFileWriter.write(lootFile.toPath(), content);
+            flushedVersion = flushing;
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to delete loot entry: " + e.getMessage());
-            return false;
+            plugin.getLogger().severe("Failed to save loot.yml: " + e.getMessage());
         }
     }
 
     /**
-     * Adds a new default loot entry.
+     * Reads the loot list from loot.yml. Only needed when the loot table was not parsed from the file
+     * (e.g. it came from the startup cache).
      */
-    public void addNewLootEntry() {
+    private LootList loadEntries() {
+        LootList loaded = LootList.of(List.of());
+
+        if (!lootFile.exists()) {
+            return loaded;
+        }
+
         try {
             FileConfiguration config = YamlConfiguration.loadConfiguration(lootFile);
-            List<Map<String, Object>> lootList = new ArrayList<>();
-
-            // Load existing entries
-            List<?> existingLoot = config.getList("loot");
-            if (existingLoot != null) {
-                for (Object obj : existingLoot) {
-                    if (obj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> map = new LinkedHashMap<>((Map<String, Object>) obj);
-                        lootList.add(map);
-                    } else if (obj instanceof ConfigurationSection section) {
-                        lootList.add(sectionToMap(section));
-                    }
-                }
+            List<?> lootList = config.getList("loot");
+            if (lootList != null) {
+                loaded = readEntries(config, lootList, null);
             }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load loot entries: " + e.getMessage());
+        }
+        return loaded;
+    }
 
-            // Create new default entry
-            LootEntry newEntry = new LootEntry();
-            newEntry.material = "DIAMOND";
-            newEntry.amount = "1";
-            newEntry.chance = 100.0;
-            newEntry.customName = "&bNew Loot Item";
-            newEntry.lore = new ArrayList<>();
-            newEntry.lore.add("&7Edit this item");
-            newEntry.enchantments = new ArrayList<>();
-
-            lootList.add(entryToMap(newEntry));
-
-            // Save back to file
-            config.set("loot", lootList);
-            config.save(lootFile);
-            // done
+    /**
+     * Converts the raw entries of the "loot" list into loot entries.
+     *
+     * @param config   Configuration used to wrap map entries as sections
+     * @param previous The list being replaced, whose unchanged entries (same id and content) are kept
+     *                 with their revision; null if there is none
+     */
+    private LootList readEntries(FileConfiguration config, List<?> lootList, LootList previous) {
+        List<LootEntry> loaded = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        boolean assignedIds = false;
+        int index = 0;
+        for (Object obj : lootList) {
+            ConfigurationSection section;
+            if (obj instanceof ConfigurationSection) {
+                section = (ConfigurationSection) obj;
+            } else if (obj instanceof Map) {
+                section = config.createSection("temp_" + index, (Map<?, ?>) obj);
+            } else {
+                continue;
+            }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to add new loot entry: " + e.getMessage());
-            // failed - logged
+            // parseLootEntry always returns a non-null LootEntry (with defaults), so add directly
+            LootEntry entry = parseLootEntry(section);
+            // Entries without an id (or with a duplicated one, e.g. copy-pasted) get a fresh id
+            if (entry.id == null || entry.id.isBlank() || !ids.add(entry.id)) {
+                entry.id = newId(ids::contains);
+                ids.add(entry.id);
+                assignedIds = true;
+            }
+            LootEntry unchanged = previous != null ? previous.get(entry.id) : null;
+            if (unchanged != null && toDefinition(unchanged).equals(toDefinition(entry))) {
+                loaded.add(unchanged);
+            } else {
+                entry.revision = revisions.incrementAndGet();
+                loaded.add(entry);
+            }
+            index++;
         }
+        LootList list = LootList.of(loaded);
+        list.assignedIds = assignedIds;
+        return list;
+    }
+
+    /**
+     * Generates a short entry id that is not yet taken.
+     */
+    private static String newId(Predicate<String> taken) {
+        String id;
+        do {
+            id = UUID.randomUUID().toString().substring(0, 8);
+        } while (taken.test(id));
+        return id;
     }
 
     /**
@@ -200,6 +513,7 @@ public class LootConfigManager {
     private LootEntry parseLootEntry(ConfigurationSection section) {
         LootEntry entry = new LootEntry();
 
+        entry.id = section.getString("id");
         entry.material = section.getString("material", "DIAMOND");
         entry.amount = section.getString("amount", "1");
         entry.chance = section.getDouble("chance", 100.0);
@@ -207,15 +521,26 @@ public class LootConfigManager {
         entry.lore = section.getStringList("lore");
         entry.enchantments = section.getStringList("enchantments");
 
+        // Keep keys the editor doesn't know about (e.g. weight) so saving doesn't drop them
+        for (String key : section.getKeys(false)) {
+            if (!EDITOR_KEYS.contains(key)) {
+                Object value = section.get(key);
+                entry.extras.put(key, value instanceof ConfigurationSection nested ? sectionToMap(nested) : value);
+            }
+        }
+
         return entry;
     }
 
     /**
-     * Converts a LootEntry to a Map for YAML storage.
+     * Converts a LootEntry to a Map for YAML storage (an item definition in loot.yml format).
      */
-    private Map<String, Object> entryToMap(LootEntry entry) {
+    public static Map<String, Object> toDefinition(LootEntry entry) {
         Map<String, Object> map = new LinkedHashMap<>();
 
+        if (entry.id != null) {
+            map.put("id", entry.id);
+        }
         map.put("material", entry.material);
         map.put("amount", entry.amount);
         map.put("chance", entry.chance);
@@ -232,6 +557,10 @@ public class LootConfigManager {
             map.put("enchantments", entry.enchantments);
         }
 
+        if (entry.extras != null) {
+            entry.extras.forEach(map::putIfAbsent);
+        }
+
         return map;
     }
 
@@ -257,12 +586,18 @@ public class LootConfigManager {
      * Represents a loot entry configuration.
      */
     public static class LootEntry implements Cloneable {
+        // Persistent id; assigned by the manager and kept for the entry's lifetime
+        public String id;
+        // Stamp of the saved state this entry was copied from; assigned by the manager, not stored in loot.yml
+        public long revision;
         public String material;
         public String amount;
         public double chance;
         public String customName;
         public List<String> lore;
         public List<String> enchantments;
+        // Other keys of the entry, written back unchanged
+        public Map<String, Object> extras = new LinkedHashMap<>();
 
         @Override
         public LootEntry clone() {
@@ -270,6 +605,7 @@ public class LootConfigManager {
                 LootEntry cloned = (LootEntry) super.clone();
                 cloned.lore = lore != null ? new ArrayList<>(lore) : new ArrayList<>();
                 cloned.enchantments = enchantments != null ? new ArrayList<>(enchantments) : new ArrayList<>();
+                cloned.extras = extras != null ? new LinkedHashMap<>(extras) : new LinkedHashMap<>();
                 return cloned;
             } catch (CloneNotSupportedException e) {
                 throw new RuntimeException(e);
@@ -278,27 +614,185 @@ public class LootConfigManager {
     }
 
     /**
-     * Sorts loot entries by chance (descending) and saves them back to loot.yml.
+     * Outcome of a compare-and-set save or delete.
+     */
+    public enum SaveResult { SAVED, CONFLICT, MISSING }
+
+    /**
+     * Outcome of an undo or redo, with the message shown to the editor for it.
+     */
+    public enum HistoryResult {
+        DONE("&aUndid your last loot edit.", "&aRedid your last undone loot edit."),
+        EMPTY("&7Nothing to undo.", "&7Nothing to redo."),
+        CONFLICT("&cYour last edit can't be undone: another editor has changed that item since. It was removed from your history.",
+                "&cYour undone edit can't be redone: another editor has changed that item since. It was removed from your history.");
+
+        private final String undoMessage;
+        private final String redoMessage;
+
+        HistoryResult(String undoMessage, String redoMessage) {
+            this.undoMessage = undoMessage;
+            this.redoMessage = redoMessage;
+        }
+
+        /**
+         * Gets the message (with &amp; color codes) reporting this outcome of an undo, or of a redo.
+         */
+        public String message(boolean undo) {
+            return undo ? undoMessage : redoMessage;
+        }
+    }
+
+    /**
+     * One step of an editor's history.
+     */
+    private sealed interface Edit permits EntryEdit, ListEdit {
+
+        /**
+         * Applies this edit to a list.
+         *
+         * @return The edited list, or null if the list no longer holds the state this edit starts from
+         */
+        LootList applyTo(LootList list);
+
+        Edit inverse();
+    }
+
+    /**
+     * Save, addition or deletion of one entry. A null entry stands for "not in the list".
+     * Applying a save or an addition is cheap; a step that removes the entry (a delete, or undoing an
+     * addition) or puts it back in its place costs as much as {@link #deleteLootEntry}.
      *
-     * @return true if successful
+     * @param position Where the entry was (or went), used to put a deleted entry back in its place
      */
-    public boolean sortByChanceDescending() {
-        try {
-            FileConfiguration config = YamlConfiguration.loadConfiguration(lootFile);
-            List<LootEntry> entries = getAllLootEntries();
-            // Sort by chance descending
-            entries.sort(Comparator.comparingDouble((LootEntry e) -> e.chance).reversed());
+    private record EntryEdit(String id, int position, LootEntry before, LootEntry after) implements Edit {
+
+        @Override
+        public LootList applyTo(LootList list) {
+            Integer current = list.positions.get(id);
+            LootEntry present = current != null ? list.entries.get(current) : null;
+            if (present == null ? before != null : (before == null || present.revision != before.revision)) {
+                return null;
+            }
+            if (after == null) {
+                return list.removing(current);
+            }
+            if (present == null) {
+                return list.inserting(Math.min(position, list.entries.size()), after);
+            }
+            return list.replacing(current, after);
+        }
 
-            // Convert to list of maps
-            List<Map<String, Object>> outList = new ArrayList<>();
-            for (LootEntry e : entries) outList.add(entryToMap(e));
+        @Override
+        public Edit inverse() {
+            return new EntryEdit(id, position, after, before);
+        }
+    }
 
-            config.set("loot", outList);
-            config.save(lootFile);
+    /**
+     * Replacement of the whole list, which only applies while the list is unchanged since.
+     * Every edit makes a new list and an unchanged reload keeps the current one, so "unchanged"
+     * is checked by identity instead of comparing entries.
+     */
+    private record ListEdit(LootList before, LootList after) implements Edit {
+
+        @Override
+        public LootList applyTo(LootList list) {
+            return list == before ? after : null;
+        }
+
+        @Override
+        public Edit inverse() {
+            return new ListEdit(after, before);
+        }
+    }
+
+    /**
+     * An immutable loot list together with its id index (id to position).
+     * Replacing or appending an entry shares all other entries (and index nodes) with the previous list;
+     * deleting or inserting moves entries and builds a new list and index (see class doc).
+     */
+    private static final class LootList {
+        final PersistentVector<LootEntry> entries;
+        final PersistentHashMap<String, Integer> positions;
+        // Whether ids were generated while reading this list from loot.yml
+        boolean assignedIds;
+        // Built on the first search of this list (main thread)
+        private LootSearchIndex searchIndex;
+
+        LootList(PersistentVector<LootEntry> entries, PersistentHashMap<String, Integer> positions) {
+            this.entries = entries;
+            this.positions = positions;
+        }
+
+        static LootList of(List<LootEntry> entries) {
+            PersistentHashMap<String, Integer> positions = PersistentHashMap.empty();
+            for (int i = 0; i < entries.size(); i++) {
+                positions = positions.plus(entries.get(i).id, i);
+            }
+            return new LootList(PersistentVector.of(entries), positions);
+        }
+
+        LootList replacing(int position, LootEntry entry) {
+            // Positions are unchanged, so the index is shared with this list
+            return new LootList(entries.with(position, entry), positions);
+        }
+
+        /**
+         * Inserts an entry at a position. Appending shares the list and index; inserting anywhere else
+         * rebuilds them like {@link #removing(int)}.
+         */
+        LootList inserting(int position, LootEntry entry) {
+            if (position == entries.size()) {
+                return new LootList(entries.plus(entry), positions.plus(entry.id, position));
+            }
+            List<LootEntry> updated = new ArrayList<>(entries);
+            updated.add(position, entry);
+            return of(updated);
+        }
+
+        /**
+         * Removes the entry at a position. Rebuilds the list and index, O(n log n) in the list size.
+         */
+        LootList removing(int position) {
+            List<LootEntry> updated = new ArrayList<>(entries);
+            updated.remove(position);
+            return of(updated);
+        }
+
+        /**
+         * Whether both lists hold the same saved entries (same ids and revisions) in the same order.
+         */
+        boolean sameEntriesAs(LootList other) {
+            if (other == this) {
+                return true;
+            }
+            if (other.entries.size() != entries.size()) {
+                return false;
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                LootEntry entry = entries.get(i);
+                LootEntry otherEntry = other.entries.get(i);
+                if (!entry.id.equals(otherEntry.id) || entry.revision != otherEntry.revision) {
+                    return false;
+                }
+            }
             return true;
-        } catch (Exception ex) {
-            plugin.getLogger().severe("Failed to sort loot entries: " + ex.getMessage());
-            return false;
+        }
+
+        /**
+         * Gets the entry with the given id, or null if there is none.
+         */
+        LootEntry get(String id) {
+            Integer position = positions.get(id);
+            return position != null ? entries.get(position) : null;
+        }
+
+        LootSearchIndex searchIndex() {
+            if (searchIndex == null) {
+                searchIndex = new LootSearchIndex(entries);
+            }
+            return searchIndex;
         }
     }
 }
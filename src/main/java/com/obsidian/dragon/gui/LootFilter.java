@@ -0,0 +1,145 @@
+package com.obsidian.dragon.gui;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * An immutable view of the loot list for the editor: search text, chance range, enchantment filter
+ * and display order. Views never change the loot list itself (sorting included).
+ */
+public final class LootFilter {
+
+    /**
+     * Filter by whether entries have enchantments.
+     */
+    public enum Enchanted {
+        ANY("Any"), ENCHANTED("Enchanted only"), UNENCHANTED("Unenchanted only");
+
+        private final String label;
+
+        Enchanted(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public Enchanted next() {
+            return values()[(ordinal() + 1) % values().length];
+        }
+    }
+
+    /**
+     * Display order of the filtered entries.
+     */
+    public enum Sort {
+        FILE_ORDER("File order", null),
+        CHANCE_DESC("Chance (high -> low)", Comparator.comparingDouble((LootConfigManager.LootEntry e) -> e.chance).reversed()),
+        CHANCE_ASC("Chance (low -> high)", Comparator.comparingDouble((LootConfigManager.LootEntry e) -> e.chance)),
+        NAME("Name (A -> Z)", Comparator.comparing(Sort::sortName));
+
+        private final String label;
+        private final Comparator<LootConfigManager.LootEntry> comparator;
+
+        Sort(String label, Comparator<LootConfigManager.LootEntry> comparator) {
+            this.label = label;
+            this.comparator = comparator;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Gets the comparator of this order, or null to keep the file order.
+         */
+        Comparator<LootConfigManager.LootEntry> comparator() {
+            return comparator;
+        }
+
+        public Sort next() {
+            return values()[(ordinal() + 1) % values().length];
+        }
+
+        private static String sortName(LootConfigManager.LootEntry entry) {
+            String name = entry.customName != null && !entry.customName.isEmpty() ? entry.customName : entry.material;
+            return LootSearchIndex.plain(name).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final LootFilter NONE = new LootFilter("", 0, 100, Enchanted.ANY, Sort.FILE_ORDER);
+
+    private final String query;
+    private final double minChance;
+    private final double maxChance;
+    private final Enchanted enchanted;
+    private final Sort sort;
+
+    private LootFilter(String query, double minChance, double maxChance, Enchanted enchanted, Sort sort) {
+        this.query = query;
+        this.minChance = minChance;
+        this.maxChance = maxChance;
+        this.enchanted = enchanted;
+        this.sort = sort;
+    }
+
+    public LootFilter withQuery(String query) {
+        return new LootFilter(query == null ? "" : query.trim(), minChance, maxChance, enchanted, sort);
+    }
+
+    public LootFilter withChanceRange(double minChance, double maxChance) {
+        return new LootFilter(query, minChance, maxChance, enchanted, sort);
+    }
+
+    public LootFilter withEnchanted(Enchanted enchanted) {
+        return new LootFilter(query, minChance, maxChance, enchanted, sort);
+    }
+
+    public LootFilter withSort(Sort sort) {
+        return new LootFilter(query, minChance, maxChance, enchanted, sort);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public double getMinChance() {
+        return minChance;
+    }
+
+    public double getMaxChance() {
+        return maxChance;
+    }
+
+    public Enchanted getEnchanted() {
+        return enchanted;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * Checks whether this view hides any entries (the display order aside).
+     */
+    public boolean isFiltering() {
+        return !query.isEmpty() || minChance > 0 || maxChance < 100 || enchanted != Enchanted.ANY;
+    }
+
+    /**
+     * Checks an entry against the chance range and enchantment filter. The search text is matched
+     * separately through the search index.
+     */
+    boolean accepts(LootConfigManager.LootEntry entry) {
+        if (entry.chance < minChance || entry.chance > maxChance) {
+            return false;
+        }
+        boolean hasEnchantments = entry.enchantments != null && !entry.enchantments.isEmpty();
+        return switch (enchanted) {
+            case ANY -> true;
+            case ENCHANTED -> hasEnchantments;
+            case UNENCHANTED -> !hasEnchantments;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.obsidian.dragon.gui;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Word index over the text of a loot list (material, custom name and lore).
+ * Every word maps to the positions of the entries containing it; words are kept sorted,
+ * so all words starting with a typed prefix are found with one range lookup.
+ */
+final class LootSearchIndex {
+
+    // Legacy color and format codes, written with & or §
+    private static final Pattern COLOR_CODES = Pattern.compile("[&§][0-9a-fk-orA-FK-OR]");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, BitSet> words = new TreeMap<>();
+    private final int size;
+
+    LootSearchIndex(List<LootConfigManager.LootEntry> entries) {
+        this.size = entries.size();
+        for (int i = 0; i < entries.size(); i++) {
+            LootConfigManager.LootEntry entry = entries.get(i);
+            addWords(entry.material, i);
+            addWords(entry.customName, i);
+            if (entry.lore != null) {
+                for (String line : entry.lore) {
+                    addWords(line, i);
+                }
+            }
+        }
+    }
+
+    private void addWords(String text, int position) {
+        for (String word : words(text)) {
+            words.computeIfAbsent(word, w -> new BitSet(size)).set(position);
+        }
+    }
+
+    /**
+     * Finds the entries that contain, for every word of the query, a word starting with it.
+     * "diam sw" matches "Diamond Sword", "DIAMOND_SWORD" and a lore line "swift as diamonds".
+     *
+     * @return Positions of the matching entries; every position if the query has no words
+     */
+    BitSet matching(String query) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        for (String prefix : words(query)) {
+            BitSet matches = new BitSet(size);
+            for (BitSet positions : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                matches.or(positions);
+            }
+            result.and(matches);
+        }
+        return result;
+    }
+
+    /**
+     * Splits text into lower-case words, ignoring color codes and punctuation (including underscores).
+     */
+    static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String plain = COLOR_CODES.matcher(text).replaceAll("").toLowerCase(Locale.ROOT);
+        return WORD_SEPARATORS.splitAsStream(plain).filter(word -> !word.isEmpty()).toArray(String[]::new);
+    }
+
+    /**
+     * Gets text without color codes, for display and sorting.
+     */
+    static String plain(String text) {
+        return text == null ? "" : COLOR_CODES.matcher(text).replaceAll("");
+    }
+}
@@ -0,0 +1,235 @@
+package com.obsidian.dragon.gui;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Static description of a menu: its type, size and title, the items every copy of it starts with,
+ * the handler of each button slot, and optionally a set of page slots that list a paged collection.
+ * Definitions are built once; opening a menu copies the pre-rendered items, and a click is one
+ * array lookup (plus one for page slots).
+ */
+public final class MenuDefinition {
+
+    /**
+     * Click handler of a button slot.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void onClick(Player player, MenuHolder menu);
+    }
+
+    /**
+     * Click handler of the page slots.
+     */
+    @FunctionalInterface
+    public interface PageHandler {
+        /**
+         * @param index Position of the clicked slot within the page (0 = first page slot)
+         */
+        void onClick(Player player, MenuHolder menu, int index);
+    }
+
+    private final MenuHolder.MenuType type;
+    private final int size;
+    private final Component title;
+    // Static contents (border, filler, fixed buttons); null for empty slots
+    private final ItemStack[] template;
+    private final Handler[] handlers;
+    private final int[] pageSlots;
+    // Slot -> position within the page, or -1 for slots that are not page slots
+    private final int[] pageIndex;
+    private final PageHandler pageHandler;
+
+    private MenuDefinition(Builder builder) {
+        this.type = builder.type;
+        this.size = builder.size;
+        this.title = builder.title;
+        this.template = builder.template.clone();
+        this.handlers = builder.handlers.clone();
+        this.pageSlots = MenuLayout.slots(builder.pageMask);
+        this.pageIndex = new int[size];
+        Arrays.fill(pageIndex, -1);
+        for (int i = 0; i < pageSlots.length; i++) {
+            pageIndex[pageSlots[i]] = i;
+        }
+        this.pageHandler = builder.pageHandler;
+    }
+
+    public static Builder builder(MenuHolder.MenuType type, int rows, Component title) {
+        return new Builder(type, rows, title);
+    }
+
+    public MenuHolder.MenuType getType() {
+        return type;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    Component getTitle() {
+        return title;
+    }
+
+    /**
+     * Creates an inventory for this menu, owned by a new {@link MenuHolder} and holding the static contents.
+     * Callers only set the slots that change between openings.
+     */
+    public Inventory createInventory() {
+        Inventory inventory = MenuHolder.create(this);
+        // The inventory copies every stack, so the template itself is never handed out
+        inventory.setContents(template);
+        return inventory;
+    }
+
+    /**
+     * Dispatches a click in the menu. Slots without a handler are ignored.
+     */
+    public void click(Player player, MenuHolder menu, int slot) {
+        if (slot < 0 || slot >= size) {
+            return;
+        }
+        Handler handler = handlers[slot];
+        if (handler != null) {
+            handler.onClick(player, menu);
+            return;
+        }
+        int index = pageIndex[slot];
+        if (index >= 0 && pageHandler != null) {
+            pageHandler.onClick(player, menu, index);
+        }
+    }
+
+    /**
+     * Gets the number of items shown per page.
+     */
+    public int getPageCapacity() {
+        return pageSlots.length;
+    }
+
+    /**
+     * Gets the index of the last page for a collection of the given size (0 when it is empty).
+     */
+    public int lastPage(int total) {
+        int capacity = Math.max(1, pageSlots.length);
+        return Math.max(0, (total + capacity - 1) / capacity - 1);
+    }
+
+    /**
+     * Gets the number of pages shown for a collection of the given size (at least 1).
+     */
+    public int pageCount(int total) {
+        return lastPage(total) + 1;
+    }
+
+    /**
+     * Places one page of items into the page slots, in order.
+     *
+     * @param page   Page number, already clamped to the collection
+     * @param render Builds the display item of an element
+     * @return The elements shown, in page slot order
+     */
+    public <T> List<T> fillPage(Inventory menu, List<T> items, int page, Function<T, ItemStack> render) {
+        int start = Math.min(items.size(), page * pageSlots.length);
+        List<T> shown = items.subList(start, Math.min(items.size(), start + pageSlots.length));
+        for (int i = 0; i < shown.size(); i++) {
+            menu.setItem(pageSlots[i], render.apply(shown.get(i)));
+        }
+        return shown;
+    }
+
+    /**
+     * Builds a {@link MenuDefinition}.
+     */
+    public static final class Builder {
+
+        private final MenuHolder.MenuType type;
+        private final int size;
+        private final Component title;
+        private final ItemStack[] template;
+        private final Handler[] handlers;
+        private long pageMask;
+        private PageHandler pageHandler;
+
+        private Builder(MenuHolder.MenuType type, int rows, Component title) {
+            if (rows < 1 || rows > 6) {
+                throw new IllegalArgumentException("Menus have 1 to 6 rows: " + rows);
+            }
+            this.type = type;
+            this.size = rows * MenuLayout.ROW_SIZE;
+            this.title = title;
+            this.template = new ItemStack[size];
+            this.handlers = new Handler[size];
+        }
+
+        /**
+         * Puts a static item in every slot of a mask, replacing what an earlier call put there.
+         */
+        public Builder fill(long slotMask, ItemStack item) {
+            checkMask(slotMask);
+            for (int slot : MenuLayout.slots(slotMask)) {
+                template[slot] = item;
+            }
+            return this;
+        }
+
+        /**
+         * Puts a static item in a slot.
+         */
+        public Builder item(int slot, ItemStack item) {
+            checkSlot(slot);
+            template[slot] = item;
+            return this;
+        }
+
+        /**
+         * Sets the handler of a button slot.
+         */
+        public Builder button(int slot, Handler handler) {
+            checkSlot(slot);
+            handlers[slot] = handler;
+            return this;
+        }
+
+        /**
+         * Sets the handler of a button slot along with its static item.
+         */
+        public Builder button(int slot, ItemStack item, Handler handler) {
+            return item(slot, item).button(slot, handler);
+        }
+
+        /**
+         * Sets the slots that list a paged collection, and what a click on one of them does.
+         * Button slots take precedence over page slots.
+         */
+        public Builder pages(long slotMask, PageHandler handler) {
+            checkMask(slotMask);
+            this.pageMask = slotMask;
+            this.pageHandler = handler;
+            return this;
+        }
+
+        public MenuDefinition build() {
+            return new MenuDefinition(this);
+        }
+
+        private void checkSlot(int slot) {
+            if (slot < 0 || slot >= size) {
+                throw new IllegalArgumentException("Slot " + slot + " is outside a menu of " + size + " slots");
+            }
+        }
+
+        private void checkMask(long slotMask) {
+            if ((slotMask & ~MenuLayout.all(size / MenuLayout.ROW_SIZE)) != 0) {
+                throw new IllegalArgumentException("Slots fall outside a menu of " + size + " slots");
+            }
+        }
+    }
+}
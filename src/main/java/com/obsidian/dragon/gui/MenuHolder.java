@@ -0,0 +1,71 @@
+package com.obsidian.dragon.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Owner of every plugin menu inventory. Identifies which menu an inventory is and carries
+ * the state that belongs to that open menu, so click handling never has to look at titles.
+ */
+public final class MenuHolder implements InventoryHolder {
+
+    /**
+     * The plugin's menus.
+     */
+    public enum MenuType {
+        MAIN, KILL_CONFIRMATION, LOOT_CONFIGURATION, EDITOR, LOOT_EDITOR, ITEM_EDITOR, CONTENT
+    }
+
+    private final MenuDefinition definition;
+    private Inventory inventory;
+    // Ids of the loot entries shown in a loot editor page, in slot order
+    private List<String> entryIds = List.of();
+
+    private MenuHolder(MenuDefinition definition) {
+        this.definition = definition;
+    }
+
+    /**
+     * Creates a menu inventory owned by a new holder.
+     */
+    static Inventory create(MenuDefinition definition) {
+        MenuHolder holder = new MenuHolder(definition);
+        holder.inventory = Bukkit.createInventory(holder, definition.getSize(), definition.getTitle());
+        return holder.inventory;
+    }
+
+    /**
+     * Gets the holder of a plugin menu.
+     *
+     * @return The holder, or null if the inventory is not a plugin menu
+     */
+    public static MenuHolder of(Inventory inventory) {
+        // No snapshot: plugin holders are plain objects, not block states
+        return inventory != null && inventory.getHolder(false) instanceof MenuHolder holder ? holder : null;
+    }
+
+    public MenuType getType() {
+        return definition.getType();
+    }
+
+    public MenuDefinition getDefinition() {
+        return definition;
+    }
+
+    public List<String> getEntryIds() {
+        return entryIds;
+    }
+
+    void setEntryIds(List<String> entryIds) {
+        this.entryIds = List.copyOf(entryIds);
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
+    }
+}
@@ -0,0 +1,70 @@
+package com.obsidian.dragon.gui;
+
+import com.obsidian.dragon.util.LegacyText;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds the display items of plugin menus.
+ */
+final class MenuItems {
+
+    private MenuItems() {
+    }
+
+    /**
+     * Builds a menu item with a display name and lore written with § color codes.
+     * Empty lore lines become blank lines; a null name or lore is left unset.
+     * All text is parsed through the shared cache, so use this for fixed text.
+     */
+    static ItemStack create(Material material, String display, List<String> loreLines) {
+        return build(material, display, loreLines, LegacyText::section);
+    }
+
+    /**
+     * Builds a menu item whose lore shows changing values (counts, balances, current settings).
+     * The lore is parsed on every call instead of filling the shared cache; the name is still cached.
+     */
+    static ItemStack live(Material material, String display, List<String> loreLines) {
+        return build(material, display, loreLines, LegacyText::sectionUncached);
+    }
+
+    private static ItemStack build(Material material, String display, List<String> loreLines, Function<String, Component> loreParser) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            if (display != null) meta.displayName(LegacyText.section(display));
+            if (loreLines != null && !loreLines.isEmpty()) {
+                List<Component> lore = new ArrayList<>();
+                for (String l : loreLines) {
+                    if (l == null || l.isEmpty()) lore.add(Component.empty());
+                    else lore.add(loreParser.apply(l));
+                }
+                meta.lore(lore);
+            }
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Builds a blank glass pane used as menu border or filler.
+     */
+    static ItemStack pane(Material material) {
+        return create(material, "§8 ", null);
+    }
+
+    /**
+     * Applies the standard 6-row background to a menu: black panes on the border, gray panes inside.
+     */
+    static MenuDefinition.Builder standardBackground(MenuDefinition.Builder builder) {
+        return builder.fill(MenuLayout.INTERIOR, pane(Material.GRAY_STAINED_GLASS_PANE))
+                .fill(MenuLayout.BORDER, pane(Material.BLACK_STAINED_GLASS_PANE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.obsidian.dragon.gui;
+
+/**
+ * Slot masks for chest menus. A menu has at most 54 slots, so a set of slots fits in one long
+ * (bit {@code n} set = slot {@code n} included); masks are computed once and tested with a shift.
+ */
+public final class MenuLayout {
+
+    public static final int ROW_SIZE = 9;
+
+    // Outer ring and inside of the standard 6-row menu
+    public static final long BORDER = border(6);
+    public static final long INTERIOR = all(6) & ~BORDER;
+
+    private MenuLayout() {
+    }
+
+    /**
+     * Gets the mask of every slot in a menu with the given number of rows.
+     */
+    public static long all(int rows) {
+        int size = rows * ROW_SIZE;
+        return size == Long.SIZE ? -1L : (1L << size) - 1;
+    }
+
+    /**
+     * Gets the mask of the outer ring of slots: first and last row, first and last column.
+     */
+    public static long border(int rows) {
+        long mask = 0;
+        for (int slot = 0; slot < rows * ROW_SIZE; slot++) {
+            int row = slot / ROW_SIZE;
+            int col = slot % ROW_SIZE;
+            if (row == 0 || row == rows - 1 || col == 0 || col == ROW_SIZE - 1) {
+                mask |= 1L << slot;
+            }
+        }
+        return mask;
+    }
+
+    public static boolean contains(long mask, int slot) {
+        return slot >= 0 && slot < Long.SIZE && (mask >>> slot & 1L) != 0;
+    }
+
+    /**
+     * Lists the slots of a mask in ascending order.
+     */
+    public static int[] slots(long mask) {
+        int[] slots = new int[Long.bitCount(mask)];
+        int i = 0;
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            slots[i++] = Long.numberOfTrailingZeros(rest);
+        }
+        return slots;
+    }
+}
@@ -2,12 +2,16 @@ package com.obsidian.dragon.listener;
 
 import com.obsidian.dragon.logic.LootManager;
 import org.bukkit.Location;
+import org.bukkit.boss.DragonBattle;
 import org.bukkit.entity.EnderDragon;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDeathEvent;
 
+import java.util.List;
+
 /**
  * Listens for Ender Dragon death events to trigger custom loot drops.
  */
@@ -21,7 +25,7 @@ public class DragonDeathListener implements Listener {
 
     /**
      * Handles the Ender Dragon death event.
-     * Spawns custom loot at the dragon's death location.
+     * Spawns custom loot at the dragon's death location (or delivers it to the fight's players).
      */
     @EventHandler(priority = EventPriority.HIGH)
     public void onDragonDeath(EntityDeathEvent event) {
@@ -37,8 +41,14 @@ public class DragonDeathListener implements Listener {
         // Uncomment the line below to remove vanilla drops
         // event.getDrops().clear();
 
+        // Players in the fight (used for direct-to-inventory delivery)
+        DragonBattle battle = dragon.getDragonBattle();
+        List<Player> participants = battle != null && battle.getBossBar() != null
+                ? battle.getBossBar().getPlayers()
+                : List.of();
+
         // Spawn custom loot
-        lootManager.spawnLoot(deathLocation);
+        lootManager.spawnLoot(deathLocation, participants);
     }
 }
 
@@ -1,6 +1,7 @@
 package com.obsidian.dragon.listener;
 
 import com.obsidian.dragon.gui.GUIManager;
+import com.obsidian.dragon.gui.MenuHolder;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -31,21 +32,20 @@ public class MenuClickListener implements Listener {
             return;
         }
 
-        String title = event.getView().title().toString();
-
-        // Check if this is one of our custom menus
-        if (!isCustomMenu(title)) {
+        // Check if this is one of our custom menus (one holder check; other inventories cost nothing more)
+        MenuHolder menu = MenuHolder.of(event.getView().getTopInventory());
+        if (menu == null) {
             return;
         }
 
         // Special handling for Item Editor menu (allow open content menu on slot 29)
-        if (title.contains("Item Editor")) {
-            handleItemEditorClick(event, player);
+        if (menu.getType() == MenuHolder.MenuType.ITEM_EDITOR) {
+            handleItemEditorClick(event, player, menu);
             return;
         }
 
         // Special handling for Content menu
-        if (title.contains("Content")) {
+        if (menu.getType() == MenuHolder.MenuType.CONTENT) {
             handleContentClick(event, player);
             return;
         }
@@ -63,13 +63,13 @@ public class MenuClickListener implements Listener {
         int slot = event.getSlot();
 
         // Pass the click to the GUI manager
-        guiManager.handleMenuClick(player, title, slot, event.getCurrentItem());
+        guiManager.handleMenuClick(player, menu, slot, event.getCurrentItem());
     }
 
     /**
      * Handles clicks in the Item Editor menu (drag and drop on slot 29).
      */
-    private void handleItemEditorClick(InventoryClickEvent event, Player player) {
+    private void handleItemEditorClick(InventoryClickEvent event, Player player, MenuHolder menu) {
         Inventory topInventory = event.getView().getTopInventory();
         Inventory clickedInventory = event.getClickedInventory();
 
@@ -87,7 +87,7 @@ public class MenuClickListener implements Listener {
 
             // For other slots, cancel and handle as button click
             event.setCancelled(true);
-            guiManager.handleMenuClick(player, event.getView().title().toString(), slot, event.getCurrentItem());
+            guiManager.handleMenuClick(player, menu, slot, event.getCurrentItem());
         }
 
         // Allow clicking in player inventory to pick items
@@ -126,9 +126,9 @@ public class MenuClickListener implements Listener {
         if (slot == 49) {
             event.setCancelled(true);
             player.closeInventory();
-            int idx = guiManager.getEditorMenuManager().getSessionIndex(player);
-            if (idx >= 0) {
-                guiManager.getEditorMenuManager().openItemEditorMenu(player, idx);
+            String entryId = guiManager.getEditorMenuManager().getSessionEntryId(player);
+            if (entryId != null) {
+                guiManager.getEditorMenuManager().openItemEditorMenu(player, entryId);
             } else {
                 guiManager.getEditorMenuManager().clearSession(player.getUniqueId());
                 guiManager.getEditorMenuManager().openEditorMenu(player);
@@ -164,30 +164,13 @@ public class MenuClickListener implements Listener {
             return;
         }
 
-        String title = event.getView().title().toString();
-
         // If a confirmation menu was closed without action, clear the pending confirmation
-        if (title.contains("Confirm Dragon Kill")) {
+        MenuHolder menu = MenuHolder.of(event.getView().getTopInventory());
+        if (menu != null && menu.getType() == MenuHolder.MenuType.KILL_CONFIRMATION) {
             guiManager.clearPendingConfirmation(player.getUniqueId());
         }
 
         // Do NOT clear editor sessions just because the Item Editor closed.
         // Sessions are explicitly removed when the player presses Save/Back/Delete.
     }
-
-    /**
-     * Checks if an inventory title belongs to one of our custom menus.
-     *
-     * @param title The inventory title
-     * @return true if it's a custom menu
-     */
-    private boolean isCustomMenu(String title) {
-        return title.contains("Obsidian Dragon") ||
-               title.contains("Confirm Dragon Kill") ||
-               title.contains("Loot Configuration") ||
-               title.contains("Editor") ||
-               title.contains("Loot Editor") ||
-               title.contains("Item Editor") ||
-               title.contains("Content");
-    }
 }
@@ -0,0 +1,86 @@
+package com.obsidian.dragon.logic;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias table for O(1) weighted sampling.
+ * Built once per pool when loot.yml loads; sampling costs one bounded int and one double
+ * regardless of how many entries the pool has.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds the table from positive weights.
+     *
+     * @param weights The weight of each entry (must be non-empty, all &gt; 0)
+     */
+    AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight > 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be positive and finite: " + weight);
+            }
+            sum += weight;
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scale weights so the average column height is exactly 1
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Pair each under-full column with an over-full one
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full up to floating point error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    /**
+     * Draws one index with probability proportional to its weight.
+     */
+    int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    int size() {
+        return probability.length;
+    }
+}
@@ -21,12 +21,19 @@ public class DragonKillManager {
     private final ObsidianDragon plugin;
     private final MessageUtil msg;
     private final Map<UUID, Long> cooldowns;
-    private final int cooldownSeconds;
+    private int cooldownSeconds;
 
     public DragonKillManager(ObsidianDragon plugin) {
         this.plugin = plugin;
         this.msg = plugin.getMessageUtil();
         this.cooldowns = new HashMap<>();
+        reloadSettings();
+    }
+
+    /**
+     * Re-reads the cooldown from config.yml. Cooldowns already running are kept.
+     */
+    public void reloadSettings() {
         this.cooldownSeconds = plugin.getConfig().getInt("dragon-kill.cooldown", 300);
     }
 
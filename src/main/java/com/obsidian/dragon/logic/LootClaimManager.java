@@ -0,0 +1,203 @@
+package com.obsidian.dragon.logic;
+
+import com.obsidian.dragon.util.AtomicFileWriter;
+import com.obsidian.dragon.util.MessageUtil;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers dragon loot straight into player inventories.
+ * Stacks that don't fit are kept in a per-player claim queue (persisted to claims.yml)
+ * instead of being dropped on the ground.
+ */
+public class LootClaimManager {
+
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final MessageUtil msg;
+    private final File claimsFile;
+    private final Map<UUID, Deque<ItemStack>> claims;
+    private final ExecutorService saveExecutor;
+
+    public LootClaimManager(JavaPlugin plugin, MessageUtil msg) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.msg = msg;
+        this.claimsFile = new File(plugin.getDataFolder(), "claims.yml");
+        this.claims = new HashMap<>();
+        this.saveExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "ObsidianDragon-Claims");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loadClaims();
+    }
+
+    /**
+     * Loads pending claims from claims.yml.
+     */
+    private void loadClaims() {
+        if (!claimsFile.exists()) {
+            return;
+        }
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(claimsFile);
+        for (String key : config.getKeys(false)) {
+            UUID playerId;
+            try {
+                playerId = UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                logger.warning("Skipping invalid player id in claims.yml: " + key);
+                continue;
+            }
+
+            Deque<ItemStack> queue = new ArrayDeque<>();
+            List<?> stored = config.getList(key);
+            if (stored != null) {
+                for (Object obj : stored) {
+                    if (obj instanceof ItemStack stack) {
+                        queue.add(stack);
+                    }
+                }
+            }
+            if (!queue.isEmpty()) {
+                claims.put(playerId, queue);
+            }
+        }
+    }
+
+    /**
+     * Distributes stacks round-robin across the given players' inventories.
+     * Overflow is queued for the receiving player.
+     *
+     * @param players Eligible, online players (must not be empty)
+     * @param stacks The rolled loot
+     */
+    public void deliver(List<? extends Player> players, List<ItemStack> stacks) {
+        int[] received = new int[players.size()];
+        int[] queued = new int[players.size()];
+
+        for (int i = 0; i < stacks.size(); i++) {
+            int target = i % players.size();
+            Player player = players.get(target);
+            HashMap<Integer, ItemStack> leftover = player.getInventory().addItem(stacks.get(i));
+            if (leftover.isEmpty()) {
+                received[target]++;
+            } else {
+                claims.computeIfAbsent(player.getUniqueId(), id -> new ArrayDeque<>()).addAll(leftover.values());
+                queued[target] += leftover.size();
+            }
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (received[i] > 0) {
+                msg.send(player, "&aDragon loot has been added to your inventory!");
+            }
+            if (queued[i] > 0) {
+                msg.send(player, "&e" + queued[i] + " loot stack(s) didn't fit. Use &f/dragon claim &eto collect them.");
+            }
+        }
+
+        if (Arrays.stream(queued).anyMatch(count -> count > 0)) {
+            saveAsync();
+        }
+    }
+
+    /**
+     * Moves as many queued stacks as fit into the player's inventory.
+     *
+     * @param player The claiming player
+     */
+    public void claim(Player player) {
+        Deque<ItemStack> queue = claims.get(player.getUniqueId());
+        if (queue == null || queue.isEmpty()) {
+            msg.send(player, "&7You have no unclaimed dragon loot.");
+            return;
+        }
+
+        int claimed = 0;
+        while (!queue.isEmpty()) {
+            ItemStack stack = queue.poll();
+            HashMap<Integer, ItemStack> leftover = player.getInventory().addItem(stack);
+            if (!leftover.isEmpty()) {
+                // Inventory is full; keep the remainder at the front of the queue
+                leftover.values().forEach(queue::addFirst);
+                break;
+            }
+            claimed++;
+        }
+
+        if (queue.isEmpty()) {
+            claims.remove(player.getUniqueId());
+            msg.send(player, "&aClaimed all of your dragon loot (" + claimed + " stack(s)).");
+        } else {
+            msg.send(player, "&eClaimed " + claimed + " stack(s). Free some space and use &f/dragon claim &eagain (" +
+                    queue.size() + " left).");
+        }
+        saveAsync();
+    }
+
+    /**
+     * Gets the number of unclaimed stacks queued for a player.
+     */
+    public int getPendingCount(UUID playerId) {
+        Deque<ItemStack> queue = claims.get(playerId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Snapshots the claim queues on the calling (main) thread and writes them in the background.
+     */
+    private void saveAsync() {
+        String data = serializeClaims();
+        saveExecutor.execute(() -> writeClaims(data));
+    }
+
+    /**
+     * Writes pending saves and stops the background writer (called on plugin disable).
+     */
+    public void shutdown() {
+        String data = serializeClaims();
+        saveExecutor.execute(() -> writeClaims(data));
+        saveExecutor.shutdown();
+        try {
+            if (!saveExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for claims.yml to be written!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String serializeClaims() {
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<UUID, Deque<ItemStack>> entry : claims.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                List<ItemStack> copy = new ArrayList<>();
+                entry.getValue().forEach(stack -> copy.add(stack.clone()));
+                config.set(entry.getKey().toString(), copy);
+            }
+        }
+        return config.saveToString();
+    }
+
+    private void writeClaims(String data) {
+        try {
+            AtomicFileWriter.write(claimsFile.toPath(), data);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to save claims.yml!", e);
+        }
+    }
+}
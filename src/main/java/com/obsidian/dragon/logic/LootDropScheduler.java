@@ -0,0 +1,136 @@
+package com.obsidian.dragon.logic;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Releases rolled loot into the world over several ticks.
+ * Keeps the dragon death tick free of item entity spawns and slows down further
+ * when the server's average tick time is already high.
+ */
+public class LootDropScheduler {
+
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final Deque<PendingDrop> queue;
+    private BukkitTask task;
+
+    // Settings (config.yml: loot-delivery.scheduler)
+    private boolean enabled;
+    private long initialDelay;
+    private int itemsPerTick;
+    private double msptThreshold;
+    private int backoffItemsPerTick;
+
+    public LootDropScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.queue = new ArrayDeque<>();
+        loadSettings();
+    }
+
+    /**
+     * Loads scheduler settings from config.yml.
+     */
+    public void loadSettings() {
+        enabled = plugin.getConfig().getBoolean("loot-delivery.scheduler.enabled", true);
+        initialDelay = Math.max(1, plugin.getConfig().getLong("loot-delivery.scheduler.initial-delay", 1));
+        itemsPerTick = plugin.getConfig().getInt("loot-delivery.scheduler.items-per-tick", 4);
+        msptThreshold = plugin.getConfig().getDouble("loot-delivery.scheduler.mspt-threshold", 45.0);
+        backoffItemsPerTick = plugin.getConfig().getInt("loot-delivery.scheduler.backoff-items-per-tick", 1);
+
+        // Validate budgets
+        if (itemsPerTick < 1) {
+            logger.warning("loot-delivery.scheduler.items-per-tick must be at least 1! Setting to 1.");
+            itemsPerTick = 1;
+        }
+        if (backoffItemsPerTick < 1 || backoffItemsPerTick > itemsPerTick) {
+            logger.warning("loot-delivery.scheduler.backoff-items-per-tick must be between 1 and items-per-tick! Setting to 1.");
+            backoffItemsPerTick = 1;
+        }
+    }
+
+    /**
+     * Queues items to be dropped at a location.
+     * With the scheduler disabled the items are dropped immediately.
+     *
+     * @param location The drop location
+     * @param items The stacks to drop
+     */
+    public void schedule(Location location, List<ItemStack> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Location dropLocation = location.clone();
+        for (ItemStack item : items) {
+            queue.add(new PendingDrop(dropLocation, item));
+        }
+
+        if (!enabled) {
+            flush();
+            return;
+        }
+
+        if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, initialDelay, 1L);
+        }
+    }
+
+    /**
+     * Releases up to one tick's budget of queued drops.
+     */
+    private void tick() {
+        int budget = Bukkit.getAverageTickTime() > msptThreshold ? backoffItemsPerTick : itemsPerTick;
+        for (int i = 0; i < budget && !queue.isEmpty(); i++) {
+            drop(queue.poll());
+        }
+
+        if (queue.isEmpty()) {
+            cancelTask();
+        }
+    }
+
+    /**
+     * Drops everything still queued right away (used on disable and when the scheduler is off).
+     */
+    public void flush() {
+        cancelTask();
+        while (!queue.isEmpty()) {
+            drop(queue.poll());
+        }
+    }
+
+    /**
+     * Gets the number of stacks still waiting to be dropped.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void drop(PendingDrop pending) {
+        if (!pending.location.isWorldLoaded()) {
+            logger.warning("Discarding queued loot drop: world is no longer loaded");
+            return;
+        }
+        pending.location.getWorld().dropItemNaturally(pending.location, pending.item);
+    }
+
+    private void cancelTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private record PendingDrop(Location location, ItemStack item) {
+    }
+}
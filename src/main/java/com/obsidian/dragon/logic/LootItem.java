@@ -0,0 +1,31 @@
+package com.obsidian.dragon.logic;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A compiled loot item.
+ * The template stack is built once at load time and only ever cloned.
+ */
+final class LootItem {
+    final Material material;
+    final int minAmount;
+    final int maxAmount;
+    // Drop chance (0-100) for entries in the top-level list
+    final double chance;
+    // Relative weight for entries inside a pool
+    final double weight;
+    final ItemStack template;
+    // The definition this item was compiled from; unchanged definitions are reused across reloads
+    final String source;
+
+    LootItem(Material material, int minAmount, int maxAmount, double chance, double weight, ItemStack template, String source) {
+        this.material = material;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.chance = chance;
+        this.weight = weight;
+        this.template = template;
+        this.source = source;
+    }
+}
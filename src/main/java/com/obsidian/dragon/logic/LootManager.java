@@ -1,54 +1,94 @@
 package com.obsidian.dragon.logic;
 
+import com.obsidian.dragon.gui.LootConfigManager;
+import com.obsidian.dragon.util.MessageUtil;
 import io.papermc.paper.registry.RegistryAccess;
 import io.papermc.paper.registry.RegistryKey;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
-import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages custom loot drops for the Ender Dragon.
  * Handles loading, validation, and spawning of loot items.
+ * The top-level loot list is shared with the editor through {@link LootConfigManager}:
+ * editor changes are compiled straight into the live table, and loot.yml reloads refresh the editor's list.
  */
 public class LootManager {
 
+    // Highest level the item enchantment component accepts
+    private static final int MAX_ENCHANTMENT_LEVEL = 255;
+
     private final JavaPlugin plugin;
     private final Logger logger;
     private final File lootFile;
-    private final List<LootItem> lootItems;
-    private final Random random;
+    private final LootConfigManager lootConfig;
+    private final LootTableCache cache;
+    // Current loot table; replaced as a whole once a reload has parsed successfully
+    private volatile LootTable table = LootTable.EMPTY;
+    // Parses loot.yml off the main thread, one reload at a time
+    private final ExecutorService loader;
+    private LootRandom lootRandom;
+    private final LootDropScheduler dropScheduler;
+    private final LootClaimManager claimManager;
+    private DeliveryMode deliveryMode;
+    // Only one loot simulation may run at a time
+    private final AtomicBoolean simulationRunning = new AtomicBoolean();
 
-    public LootManager(JavaPlugin plugin) {
+    /**
+     * @param lootConfig The shared loot list edited through the loot editor
+     * @param msg        The plugin's message util, used to notify players about claimable loot
+     */
+    public LootManager(JavaPlugin plugin, LootConfigManager lootConfig, MessageUtil msg) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
         this.lootFile = new File(plugin.getDataFolder(), "loot.yml");
-        this.lootItems = new ArrayList<>();
-        this.random = ThreadLocalRandom.current();
+        this.lootConfig = lootConfig;
+        this.cache = new LootTableCache(plugin.getDataFolder().toPath().resolve("cache").resolve("loot-table.bin"));
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "ObsidianDragon-LootLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropScheduler = new LootDropScheduler(plugin);
+        this.claimManager = new LootClaimManager(plugin, msg);
+        loadDeliveryMode();
+        loadRandom();
 
         // Create default loot.yml if it doesn't exist
         createDefaultConfig();
-        // Load the configuration
-        loadConfiguration();
+        // Load the configuration (synchronously, nothing can roll loot before the plugin is enabled)
+        publish(parseTable(true));
+        lootConfig.setChangeListener(this::applyDefinitions);
     }
 
     /**
@@ -93,309 +133,392 @@ public class LootManager {
     }
 
     /**
-     * Loads and parses the loot configuration from loot.yml.
-     * @return true if configuration loaded successfully, false otherwise
+     * Loads the loot delivery mode from config.yml.
+     */
+    private void loadDeliveryMode() {
+        String mode = plugin.getConfig().getString("loot-delivery.mode", "drop").toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "drop" -> deliveryMode = DeliveryMode.DROP;
+            case "inventory" -> deliveryMode = DeliveryMode.INVENTORY;
+            default -> {
+                logger.warning("Unknown loot delivery mode: " + mode + ". Using drop.");
+                deliveryMode = DeliveryMode.DROP;
+            }
+        }
+    }
+
+    /**
+     * Loads the random algorithm used for loot rolls from config.yml.
      */
-    public boolean loadConfiguration() {
-        lootItems.clear();
+    private void loadRandom() {
+        String algorithm = plugin.getConfig().getString("loot-delivery.random-algorithm", LootRandom.DEFAULT_ALGORITHM);
+        try {
+            lootRandom = LootRandom.of(algorithm);
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid loot-delivery.random-algorithm '" + algorithm + "': " + e.getMessage() +
+                    ". Using " + LootRandom.DEFAULT_ALGORITHM + ".");
+            lootRandom = LootRandom.of(LootRandom.DEFAULT_ALGORITHM);
+        }
+    }
+
+    /**
+     * Reloads loot delivery settings (mode, random algorithm and drop scheduler) from config.yml.
+     */
+    public void reloadDeliverySettings() {
+        loadDeliveryMode();
+        loadRandom();
+        dropScheduler.loadSettings();
+    }
 
+    /**
+     * Parses loot.yml into a new loot table without touching the current one.
+     * Safe to call from any thread. Every successful parse refreshes the binary cache.
+     *
+     * @param useCache Whether a cached table built from identical loot.yml content may be used instead
+     * @return The parsed table, or null if loot.yml could not be loaded
+     */
+    private LootTable parseTable(boolean useCache) {
         if (!lootFile.exists()) {
             logger.warning("loot.yml not found! Creating default configuration...");
             createDefaultConfig();
         }
 
+        byte[] content;
+        byte[] hash;
         try {
-            FileConfiguration lootConfig = YamlConfiguration.loadConfiguration(lootFile);
+            content = Files.readAllBytes(lootFile.toPath());
+            hash = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.log(Level.SEVERE, "Failed to read loot.yml!", e);
+            return null;
+        }
 
-            // Validate YAML structure
-            if (!lootConfig.contains("loot")) {
-                logger.severe("Invalid loot.yml: Missing 'loot' section!");
-                return false;
+        if (useCache) {
+            try {
+                LootTable cached = cache.read(hash);
+                if (cached != null) {
+                    logger.info("loot.yml is unchanged, using the cached loot table.");
+                    return cached;
+                }
+            } catch (Exception e) {
+                logger.warning("Ignoring unreadable loot table cache: " + e.getMessage());
             }
+        }
 
-            List<?> lootList = lootConfig.getList("loot");
-            if (lootList == null || lootList.isEmpty()) {
-                logger.warning("loot.yml contains no loot items. Dragon will drop nothing.");
-                return true;
+        try {
+            LootTableParser parser = new LootTableParser(logger, table);
+            LootTable parsed = parser.parse(new String(content, StandardCharsets.UTF_8));
+            loader.execute(() -> writeCache(hash, parsed));
+            shareDefinitions(parser.getLootDefinitions());
+            return parsed;
+        } catch (InvalidConfigurationException e) {
+            logger.log(Level.SEVERE, "Invalid loot.yml: " + e.getMessage(), e);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to load loot.yml! Check for YAML syntax errors.", e);
+        }
+        return null;
+    }
+
+    /**
+     * Hands the loot list just read from loot.yml to the editor's model, on the main thread.
+     */
+    private void shareDefinitions(List<?> definitions) {
+        if (Bukkit.isPrimaryThread()) {
+            lootConfig.resetFromDisk(definitions);
+        } else if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> lootConfig.resetFromDisk(definitions));
+        }
+    }
+
+    /**
+     * Compiles an edited loot list into a new live table on the loader thread.
+     * Only changed definitions are compiled; pools are kept as loaded from loot.yml.
+     *
+     * @param definitions The edited top-level item definitions
+     */
+    private void applyDefinitions(List<Map<String, Object>> definitions) {
+        loader.execute(() -> {
+            try {
+                LootTable current = table;
+                List<LootItem> items = new LootTableParser(logger, current).parseItems(definitions);
+                table = new LootTable(items, current.pools);
+                logger.info("Applied loot editor changes: " + items.size() + " loot item(s)");
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to apply loot editor changes", e);
             }
+        });
+    }
 
-            // Parse each loot item
-            int itemIndex = 0;
-            for (Object obj : lootList) {
-                itemIndex++;
-                ConfigurationSection section;
-
-                if (obj instanceof ConfigurationSection) {
-                    section = (ConfigurationSection) obj;
-                } else if (obj instanceof java.util.Map) {
-                    // Handle maps from YAML
-                    section = lootConfig.createSection("temp_" + itemIndex, (java.util.Map<?, ?>) obj);
-                } else {
-                    logger.warning("Skipping invalid loot item #" + itemIndex + ": Not a valid configuration section");
-                    continue;
-                }
+    /**
+     * Stores a freshly parsed table in the binary cache for the next startup.
+     */
+    private void writeCache(byte[] hash, LootTable parsed) {
+        try {
+            cache.write(hash, parsed);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to write loot table cache", e);
+        }
+    }
 
-                try {
-                    LootItem item = parseLootItem(section, itemIndex);
-                    if (item != null) {
-                        lootItems.add(item);
-                        logger.info("Loaded loot item #" + itemIndex + ": " + item.material.name() +
-                                   " (chance: " + item.chance + "%)");
-                    }
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Failed to parse loot item #" + itemIndex + ": " + e.getMessage(), e);
-                }
+    /**
+     * Makes a parsed table the current one. A failed parse leaves the current table in place.
+     *
+     * @return true if the table was published
+     */
+    private boolean publish(LootTable parsed) {
+        if (parsed == null) {
+            if (!table.isEmpty()) {
+                logger.warning("Keeping the previously loaded loot table.");
             }
+            return false;
+        }
 
-            logger.info("Successfully loaded " + lootItems.size() + " loot item(s) from loot.yml");
+        if (!table.isEmpty() && parsed.sameContentAs(table)) {
+            logger.info("loot.yml has no effective changes, keeping the current loot table.");
             return true;
+        }
 
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Failed to load loot.yml! Check for YAML syntax errors.", e);
-            return false;
+        table = parsed;
+        if (parsed.isEmpty()) {
+            logger.warning("loot.yml contains no loot items. Dragon will drop nothing.");
+            return true;
         }
+
+        logger.info("Successfully loaded " + parsed.items.size() + " loot item(s) and " +
+                   parsed.pools.size() + " pool(s) from loot.yml");
+        return true;
     }
 
     /**
-     * Parses a single loot item from configuration.
+     * Resolves an enchantment string like "SHARPNESS:5" against the enchantment registry.
+     *
+     * @param enchantStr The enchantment entry from loot.yml
+     * @return The resolved enchantment and its level
+     * @throws IllegalArgumentException if the entry is malformed or names an unknown enchantment
      */
-    private LootItem parseLootItem(ConfigurationSection section, int index) {
-        // Validate required fields
-        if (!section.contains("material")) {
-            logger.warning("Loot item #" + index + " missing required field: 'material'");
-            return null;
+    public static Map.Entry<Enchantment, Integer> resolveEnchantment(String enchantStr) {
+        if (enchantStr == null) {
+            throw new IllegalArgumentException("Invalid enchantment format: 'null' (expected NAME:LEVEL)");
         }
 
-        String materialName = section.getString("material", "").toUpperCase();
-        Material material;
-        try {
-            material = Material.valueOf(materialName);
-            if (!material.isItem()) {
-                logger.warning("Loot item #" + index + ": Material '" + materialName + "' is not a valid item!");
-                return null;
-            }
-        } catch (IllegalArgumentException e) {
-            logger.warning("Loot item #" + index + ": Invalid material name '" + materialName + "'");
-            return null;
+        String[] parts = enchantStr.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid enchantment format: '" + enchantStr + "' (expected NAME:LEVEL)");
         }
 
-        // Parse amount (can be single value or range)
-        int minAmount = 1;
-        int maxAmount = 1;
-        String amountStr = section.getString("amount");
-        if (amountStr != null) {
-            if (amountStr.contains("-")) {
-                String[] parts = amountStr.split("-");
-                try {
-                    minAmount = Integer.parseInt(parts[0].trim());
-                    maxAmount = Integer.parseInt(parts[1].trim());
-                    if (minAmount < 1 || maxAmount < 1) {
-                        logger.warning("Loot item #" + index + ": Amount must be positive, using default (1)");
-                        minAmount = maxAmount = 1;
-                    }
-                    if (minAmount > maxAmount) {
-                        int temp = minAmount;
-                        minAmount = maxAmount;
-                        maxAmount = temp;
-                    }
-                } catch (NumberFormatException e) {
-                    logger.warning("Loot item #" + index + ": Invalid amount range '" + amountStr + "', using default (1)");
-                }
-            } else {
-                try {
-                    minAmount = maxAmount = Math.max(1, section.getInt("amount", 1));
-                } catch (Exception e) {
-                    logger.warning("Loot item #" + index + ": Invalid amount value, using default (1)");
-                }
-            }
+        String enchantName = parts[0].trim().toLowerCase(Locale.ROOT);
+        int level;
+        try {
+            level = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid enchantment level: '" + enchantStr + "'");
         }
-
-        // Parse chance (0-100)
-        double chance = section.getDouble("chance", 100.0);
-        if (chance < 0 || chance > 100) {
-            logger.warning("Loot item #" + index + ": Chance must be between 0-100, clamping value");
-            chance = Math.max(0, Math.min(100, chance));
+        if (level < 1 || level > MAX_ENCHANTMENT_LEVEL) {
+            throw new IllegalArgumentException("Enchantment level must be between 1 and " + MAX_ENCHANTMENT_LEVEL + ": '" + enchantStr + "'");
         }
 
-        // Parse optional fields
-        String customName = section.getString("name");
-        List<String> lore = section.getStringList("lore");
-        List<String> enchantments = section.getStringList("enchantments");
+        // Look up by key using modern Paper Registry API
+        NamespacedKey key = NamespacedKey.fromString(enchantName);
+        Enchantment enchantment = key != null
+                ? RegistryAccess.registryAccess().getRegistry(RegistryKey.ENCHANTMENT).get(key)
+                : null;
+        if (enchantment == null) {
+            throw new IllegalArgumentException("Unknown enchantment: '" + parts[0].trim() + "'");
+        }
 
-        return new LootItem(material, minAmount, maxAmount, chance, customName, lore, enchantments);
+        return Map.entry(enchantment, level);
     }
 
     /**
-     * Spawns loot at the specified location based on configured drop chances.
+     * Rolls loot for a dragon kill and delivers it.
+     * In inventory mode the loot goes straight to the participating players; otherwise
+     * (or when nobody eligible is online) it is handed to the drop scheduler.
+     * Top-level items roll their own chance; each pool makes its weighted picks.
+     *
+     * @param location The dragon's death location
+     * @param participants Players who took part in the dragon battle
      */
-    public void spawnLoot(Location location) {
+    public void spawnLoot(Location location, Collection<? extends Player> participants) {
         if (location == null || location.getWorld() == null) {
             logger.warning("Cannot spawn loot: Invalid location!");
             return;
         }
 
-        if (lootItems.isEmpty()) {
+        LootTable current = table;
+        if (current.isEmpty()) {
             logger.info("No loot items configured, skipping loot drop.");
             return;
         }
 
-        int droppedCount = 0;
-        for (LootItem lootItem : lootItems) {
-            // Check drop chance
-            double roll = random.nextDouble() * 100;
-            if (roll > lootItem.chance) {
-                continue; // Item didn't drop
-            }
+        // Every kill gets its own seed so the exact drops can be replayed later
+        long seed = lootRandom.newSeed();
+        List<ItemStack> drops = current.roll(lootRandom.forSeed(seed));
+        logger.info("Rolled dragon loot with seed " + seed + " (" + lootRandom.getAlgorithm() + ")");
 
-            // Create the item
-            ItemStack item = createItem(lootItem);
-            if (item != null) {
-                location.getWorld().dropItemNaturally(location, item);
-                droppedCount++;
+        if (deliveryMode == DeliveryMode.INVENTORY) {
+            List<Player> eligible = new ArrayList<>();
+            for (Player player : participants) {
+                if (player.isOnline() && !player.isDead()) {
+                    eligible.add(player);
+                }
             }
+            if (!eligible.isEmpty()) {
+                claimManager.deliver(eligible, drops);
+                logger.info("Delivered " + drops.size() + " loot stack(s) to " + eligible.size() + " player(s)");
+                return;
+            }
+            logger.info("No eligible players for inventory delivery, dropping loot instead.");
         }
 
-        logger.info("Spawned " + droppedCount + " loot item(s) at " +
+        dropScheduler.schedule(location, drops);
+
+        logger.info("Queued " + drops.size() + " loot item(s) at " +
                    formatLocation(location));
     }
 
     /**
-     * Creates an ItemStack from a LootItem configuration.
+     * Re-rolls the current loot table with a seed taken from the log.
+     * Produces exactly what the kill produced, provided loot.yml and the random algorithm are unchanged.
+     *
+     * @param seed The logged seed
+     * @return The consolidated stacks that seed yields
      */
-    private ItemStack createItem(LootItem lootItem) {
-        try {
-            // Determine amount
-            int amount;
-            if (lootItem.minAmount == lootItem.maxAmount) {
-                amount = lootItem.minAmount;
-            } else {
-                amount = random.nextInt(lootItem.maxAmount - lootItem.minAmount + 1) + lootItem.minAmount;
-            }
-
-            ItemStack item = new ItemStack(lootItem.material, amount);
-            ItemMeta meta = item.getItemMeta();
-
-            if (meta != null) {
-                // Set custom name using modern Adventure API
-                if (lootItem.customName != null && !lootItem.customName.isEmpty()) {
-                    Component nameComponent = LegacyComponentSerializer.legacyAmpersand().deserialize(lootItem.customName);
-                    meta.displayName(nameComponent);
-                }
-
-                // Set lore using modern Adventure API
-                if (lootItem.lore != null && !lootItem.lore.isEmpty()) {
-                    List<Component> componentLore = new ArrayList<>();
-                    for (String line : lootItem.lore) {
-                        componentLore.add(LegacyComponentSerializer.legacyAmpersand().deserialize(line));
-                    }
-                    meta.lore(componentLore);
-                }
-
-                item.setItemMeta(meta);
-            }
-
-            // Apply enchantments
-            if (lootItem.enchantments != null && !lootItem.enchantments.isEmpty()) {
-                for (String enchantStr : lootItem.enchantments) {
-                    applyEnchantment(item, enchantStr);
-                }
-            }
-
-            return item;
+    public List<ItemStack> replayLoot(long seed) {
+        return table.roll(lootRandom.forSeed(seed));
+    }
 
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Failed to create item: " + lootItem.material.name(), e);
+    /**
+     * Simulates dragon kills against the current loot table on a background fork-join pool.
+     *
+     * @param kills Number of kills to simulate
+     * @return A future completed off the main thread, or null if a simulation is already running
+     */
+    public CompletableFuture<LootSimulator.Result> simulate(long kills) {
+        if (!simulationRunning.compareAndSet(false, true)) {
             return null;
         }
+        return LootSimulator.run(table, kills, lootRandom.newSeed())
+                .whenComplete((result, error) -> simulationRunning.set(false));
     }
 
     /**
-     * Applies an enchantment to an item from a string like "SHARPNESS:5".
+     * Formats a location for logging.
      */
-    private void applyEnchantment(ItemStack item, String enchantStr) {
-        try {
-            String[] parts = enchantStr.split(":");
-            if (parts.length != 2) {
-                logger.warning("Invalid enchantment format: '" + enchantStr + "' (expected FORMAT:LEVEL)");
-                return;
-            }
+    private String formatLocation(Location loc) {
+        return String.format("%s(%.1f, %.1f, %.1f)",
+                           loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ());
+    }
 
-            String enchantName = parts[0].trim().toUpperCase();
-            int level;
+    /**
+     * Reloads the loot configuration in the background.
+     * The current table keeps serving drops until the new one has parsed; if parsing fails it stays in place.
+     * The future completes on the loader thread.
+     *
+     * @return A future completed with true if the reload was successful, false otherwise
+     */
+    public CompletableFuture<Boolean> reloadAsync() {
+        logger.info("Reloading loot configuration...");
+        return CompletableFuture.supplyAsync(() -> parseTable(false), loader).thenApply(this::publish);
+    }
+
+    /**
+     * Exports the loot list to a JSON or CSV file in the exports folder, written on the loader thread.
+     *
+     * @param fileName Name of the file in the exports folder; the extension selects the format
+     * @return A future completed (off the main thread) with the number of entries written
+     * @throws IllegalArgumentException if the file name is not a plain .json or .csv name
+     */
+    public CompletableFuture<Integer> exportLoot(String fileName) {
+        Path file = LootTransfer.resolve(exportsFolder(), fileName);
+        List<LootConfigManager.LootEntry> entries = lootConfig.getAllLootEntries();
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                level = Integer.parseInt(parts[1].trim());
-                if (level < 1) {
-                    logger.warning("Enchantment level must be positive: " + enchantStr);
-                    return;
-                }
-            } catch (NumberFormatException e) {
-                logger.warning("Invalid enchantment level: " + enchantStr);
-                return;
+                LootTransfer.write(file, entries);
+                return entries.size();
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
+        }, loader);
+    }
 
-            // Try to get enchantment by key using modern Paper Registry API
-            Enchantment enchantment = RegistryAccess.registryAccess()
-                    .getRegistry(RegistryKey.ENCHANTMENT)
-                    .get(NamespacedKey.minecraft(enchantName.toLowerCase()));
-            if (enchantment == null) {
-                logger.warning("Unknown enchantment: '" + enchantName + "'");
-                return;
+    /**
+     * Reads a JSON or CSV loot list from the exports folder and validates every entry, on the loader thread.
+     * Nothing is applied; the caller replaces the loot list with the result on the main thread.
+     *
+     * @param fileName Name of the file in the exports folder; the extension selects the format
+     * @return A future completed (off the main thread) with the entries; it fails with an {@link IOException}
+     *         if the file can't be read or {@link LootTransfer.InvalidLootException} if any entry is invalid
+     * @throws IllegalArgumentException if the file name is not a plain .json or .csv name
+     */
+    public CompletableFuture<List<LootConfigManager.LootEntry>> importLoot(String fileName) {
+        Path file = LootTransfer.resolve(exportsFolder(), fileName);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<LootConfigManager.LootEntry> entries = LootTransfer.read(file);
+                LootTransfer.validate(entries);
+                return entries;
+            } catch (IOException | LootTransfer.InvalidLootException e) {
+                throw new CompletionException(e);
             }
+        }, loader);
+    }
 
-            // Apply enchantment (bypass level restrictions for custom configs)
-            item.addUnsafeEnchantment(enchantment, level);
+    private Path exportsFolder() {
+        return plugin.getDataFolder().toPath().resolve("exports");
+    }
 
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Failed to apply enchantment: " + enchantStr, e);
+    /**
+     * Stops the loader thread, giving a pending reload or cache write a moment to finish.
+     */
+    public void shutdown() {
+        loader.shutdown();
+        try {
+            if (!loader.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for the loot loader to finish!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * Formats a location for logging.
+     * Gets the number of configured loot items (top-level items plus pool entries).
      */
-    private String formatLocation(Location loc) {
-        return String.format("%s(%.1f, %.1f, %.1f)",
-                           loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ());
+    public int getLootItemCount() {
+        return table.itemCount();
     }
 
     /**
-     * Reloads the loot configuration.
-     * @return true if reload was successful, false otherwise
+     * Creates one copy of every top-level loot item, as compiled when the loot table was loaded
+     * (name, lore and enchantments applied), with its minimum amount.
      */
-    public boolean reload() {
-        logger.info("Reloading loot configuration...");
-        return loadConfiguration();
+    public List<ItemStack> createLootItemCopies() {
+        List<LootItem> items = table.items;
+        List<ItemStack> copies = new ArrayList<>(items.size());
+        for (LootItem item : items) {
+            ItemStack copy = item.template.clone();
+            copy.setAmount(Math.max(1, item.minAmount));
+            copies.add(copy);
+        }
+        return copies;
     }
 
     /**
-     * Gets the number of configured loot items.
+     * Gets the scheduler that releases rolled loot into the world.
      */
-    public int getLootItemCount() {
-        return lootItems.size();
+    public LootDropScheduler getDropScheduler() {
+        return dropScheduler;
     }
 
     /**
-     * Internal class representing a loot item configuration.
+     * Gets the claim queue used for inventory delivery overflow.
      */
-    private static class LootItem {
-        final Material material;
-        final int minAmount;
-        final int maxAmount;
-        final double chance;
-        final String customName;
-        final List<String> lore;
-        final List<String> enchantments;
-
-        LootItem(Material material, int minAmount, int maxAmount, double chance,
-                String customName, List<String> lore, List<String> enchantments) {
-            this.material = material;
-            this.minAmount = minAmount;
-            this.maxAmount = maxAmount;
-            this.chance = chance;
-            this.customName = customName;
-            this.lore = lore;
-            this.enchantments = enchantments;
-        }
+    public LootClaimManager getClaimManager() {
+        return claimManager;
     }
-}
 
+    /**
+     * How rolled loot reaches the players.
+     */
+    private enum DeliveryMode { DROP, INVENTORY }
+}
@@ -0,0 +1,54 @@
+package com.obsidian.dragon.logic;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A named, weighted loot pool.
+ * Each kill rolls the pool a number of times within [minRolls, maxRolls]; every roll picks
+ * exactly one entry through a precomputed alias table, so cost does not grow with pool size.
+ */
+final class LootPool {
+    final String name;
+    final int minRolls;
+    final int maxRolls;
+    final double chance;
+    final List<LootItem> entries;
+    // The definition this pool was compiled from; unchanged definitions are reused across reloads
+    final String source;
+    private final AliasTable aliasTable;
+
+    LootPool(String name, int minRolls, int maxRolls, double chance, List<LootItem> entries, String source) {
+        this.name = name;
+        this.minRolls = minRolls;
+        this.maxRolls = maxRolls;
+        this.chance = chance;
+        this.entries = List.copyOf(entries);
+        this.source = source;
+
+        double[] weights = new double[this.entries.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = this.entries.get(i).weight;
+        }
+        this.aliasTable = new AliasTable(weights);
+    }
+
+    /**
+     * Determines how many picks this pool makes for one kill (0 if the pool chance fails).
+     */
+    int rollCount(RandomGenerator random) {
+        if (chance < 100.0 && random.nextDouble() * 100 >= chance) {
+            return 0;
+        }
+        return minRolls == maxRolls ? minRolls : random.nextInt(minRolls, maxRolls + 1);
+    }
+
+    /**
+     * Picks one entry, weighted.
+     *
+     * @return The index of the picked entry
+     */
+    int pickIndex(RandomGenerator random) {
+        return aliasTable.sample(random);
+    }
+}
@@ -0,0 +1,59 @@
+package com.obsidian.dragon.logic;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Creates the random generators used for loot rolls.
+ * Every roll gets its own generator built from a 64-bit seed, so rolls never share state
+ * between threads and any kill can be reproduced from its logged seed.
+ */
+public final class LootRandom {
+
+    public static final String DEFAULT_ALGORITHM = "SplittableRandom";
+
+    private final String algorithm;
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+
+    private LootRandom(String algorithm, RandomGeneratorFactory<RandomGenerator> factory) {
+        this.algorithm = algorithm;
+        this.factory = factory;
+    }
+
+    /**
+     * Looks up a seedable generator algorithm by name (e.g. "SplittableRandom", "L64X128MixRandom").
+     *
+     * @param algorithm The java.util.random algorithm name
+     * @return The loot random source
+     * @throws IllegalArgumentException if the algorithm is unknown or cannot be seeded reproducibly
+     */
+    public static LootRandom of(String algorithm) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+        if (factory.isDeprecated() || "SecureRandom".equals(factory.name())) {
+            throw new IllegalArgumentException("Random algorithm '" + algorithm + "' cannot be used for reproducible loot rolls");
+        }
+        return new LootRandom(factory.name(), factory);
+    }
+
+    /**
+     * Generates a fresh seed for one kill. Safe to call from any thread.
+     */
+    public long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Creates the generator for a seed. The same seed always yields the same sequence.
+     */
+    public RandomGenerator forSeed(long seed) {
+        return factory.create(seed);
+    }
+
+    /**
+     * Gets the algorithm name, as logged alongside seeds.
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+}
@@ -0,0 +1,245 @@
+package com.obsidian.dragon.logic;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of dragon kills against a loot table.
+ * Kills are rolled in parallel on a dedicated fork-join pool, never on the main thread.
+ * Rolls only count amounts per stack group, so no item stacks are built while simulating.
+ */
+public final class LootSimulator {
+
+    // Kills rolled by one leaf task; fixed so results depend only on the seed, not on the thread count
+    private static final long KILLS_PER_TASK = 1L << 16;
+    // Item counts per kill below this are tallied in an array; rarer, larger counts in a sorted map
+    private static final int DENSE_HISTOGRAM_LIMIT = 4096;
+
+    private LootSimulator() {
+    }
+
+    /**
+     * Simulates kills in the background.
+     *
+     * @param table The loot table to roll
+     * @param kills Number of kills to simulate
+     * @param seed Seed of the simulation; the same seed and table give the same result
+     * @return A future completed (off the main thread) with the simulation result
+     */
+    static CompletableFuture<Result> run(LootTable table, long kills, long seed) {
+        // Leave half the cores to the server
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        long start = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> pool.invoke(new SimulationTask(table, 0, kills, new SplittableRandom(seed))), pool)
+                .thenApply(tally -> new Result(table, tally, kills, seed, (System.nanoTime() - start) / 1_000_000L))
+                .whenComplete((result, error) -> pool.shutdown());
+    }
+
+    /**
+     * Rolls a range of kills, splitting it across the pool until ranges are small enough.
+     */
+    private static final class SimulationTask extends RecursiveTask<Tally> {
+        private final LootTable table;
+        private final long from;
+        private final long to;
+        private final SplittableRandom random;
+
+        SimulationTask(LootTable table, long from, long to, SplittableRandom random) {
+            this.table = table;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= KILLS_PER_TASK) {
+                return rollRange();
+            }
+            long middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(table, from, middle, random.split());
+            SimulationTask right = new SimulationTask(table, middle, to, random);
+            left.fork();
+            Tally tally = right.compute();
+            tally.merge(left.join());
+            return tally;
+        }
+
+        private Tally rollRange() {
+            Tally tally = new Tally(table.groupCount());
+            StackConsolidator consolidator = new StackConsolidator(table.groupCount());
+            for (long kill = from; kill < to; kill++) {
+                table.rollInto(random, consolidator);
+                int items = 0;
+                for (int i = 0; i < consolidator.groupsUsed(); i++) {
+                    int group = consolidator.groupAt(i);
+                    int amount = consolidator.totalOf(group);
+                    tally.groupItems[group] += amount;
+                    tally.groupKills[group]++;
+                    items += amount;
+                }
+                tally.record(items);
+                consolidator.reset();
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * Counts gathered by one task: totals per group and a histogram of items per kill.
+     */
+    private static final class Tally {
+        final long[] groupItems;
+        final long[] groupKills;
+        long[] itemsHistogram = new long[64];
+        // Kills per item count, for counts of DENSE_HISTOGRAM_LIMIT and up (wide amount ranges)
+        final NavigableMap<Integer, Long> largeCounts = new TreeMap<>();
+        long totalItems;
+
+        Tally(int groupCount) {
+            this.groupItems = new long[groupCount];
+            this.groupKills = new long[groupCount];
+        }
+
+        void record(int items) {
+            totalItems += items;
+            if (items >= DENSE_HISTOGRAM_LIMIT) {
+                largeCounts.merge(items, 1L, Long::sum);
+                return;
+            }
+            if (items >= itemsHistogram.length) {
+                itemsHistogram = Arrays.copyOf(itemsHistogram, Math.min(DENSE_HISTOGRAM_LIMIT, Math.max(items + 1, itemsHistogram.length * 2)));
+            }
+            itemsHistogram[items]++;
+        }
+
+        void merge(Tally other) {
+            for (int i = 0; i < groupItems.length; i++) {
+                groupItems[i] += other.groupItems[i];
+                groupKills[i] += other.groupKills[i];
+            }
+            if (other.itemsHistogram.length > itemsHistogram.length) {
+                itemsHistogram = Arrays.copyOf(itemsHistogram, other.itemsHistogram.length);
+            }
+            for (int i = 0; i < other.itemsHistogram.length; i++) {
+                itemsHistogram[i] += other.itemsHistogram[i];
+            }
+            for (Map.Entry<Integer, Long> count : other.largeCounts.entrySet()) {
+                largeCounts.merge(count.getKey(), count.getValue(), Long::sum);
+            }
+            totalItems += other.totalItems;
+        }
+    }
+
+    /**
+     * The outcome of a simulation.
+     */
+    public static final class Result {
+        private final long kills;
+        private final long seed;
+        private final long elapsedMillis;
+        private final double meanItemsPerKill;
+        private final long[] itemsHistogram;
+        private final NavigableMap<Integer, Long> largeCounts;
+        private final ItemStack rarestDrop;
+        private final double rarestDropRate;
+
+        private Result(LootTable table, Tally tally, long kills, long seed, long elapsedMillis) {
+            this.kills = kills;
+            this.seed = seed;
+            this.elapsedMillis = elapsedMillis;
+            this.meanItemsPerKill = kills > 0 ? (double) tally.totalItems / kills : 0;
+            this.itemsHistogram = tally.itemsHistogram;
+            this.largeCounts = tally.largeCounts;
+
+            // The drop that turns up in the fewest kills (including drops that never turned up)
+            int rarest = -1;
+            for (int group = 0; group < tally.groupKills.length; group++) {
+                if (rarest == -1 || tally.groupKills[group] < tally.groupKills[rarest]) {
+                    rarest = group;
+                }
+            }
+            this.rarestDrop = rarest == -1 ? null : table.groupTemplate(rarest).clone();
+            this.rarestDropRate = rarest == -1 || kills == 0 ? 0 : (double) tally.groupKills[rarest] / kills;
+        }
+
+        public long getKills() {
+            return kills;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Gets the average number of items dropped per kill.
+         */
+        public double getMeanItemsPerKill() {
+            return meanItemsPerKill;
+        }
+
+        /**
+         * Gets the number of items per kill at or below which the given share of kills fall.
+         *
+         * @param percentile Between 0 and 100
+         */
+        public int getItemsPerKillPercentile(double percentile) {
+            long threshold = (long) Math.ceil(kills * Math.max(0, Math.min(100, percentile)) / 100.0);
+            long seen = 0;
+            for (int items = 0; items < itemsHistogram.length; items++) {
+                seen += itemsHistogram[items];
+                if (seen >= threshold && seen > 0) {
+                    return items;
+                }
+            }
+            for (Map.Entry<Integer, Long> count : largeCounts.entrySet()) {
+                seen += count.getValue();
+                if (seen >= threshold && seen > 0) {
+                    return count.getKey();
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Gets the highest number of items any simulated kill dropped.
+         */
+        public int getMaxItemsPerKill() {
+            if (!largeCounts.isEmpty()) {
+                return largeCounts.lastKey();
+            }
+            for (int items = itemsHistogram.length - 1; items > 0; items--) {
+                if (itemsHistogram[items] > 0) {
+                    return items;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Gets the drop that appeared in the fewest kills, or null if the table has no drops.
+         */
+        public ItemStack getRarestDrop() {
+            return rarestDrop == null ? null : rarestDrop.clone();
+        }
+
+        /**
+         * Gets the share of kills (0-1) in which the rarest drop appeared.
+         */
+        public double getRarestDropRate() {
+            return rarestDropRate;
+        }
+    }
+}
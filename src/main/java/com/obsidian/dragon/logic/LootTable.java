@@ -0,0 +1,162 @@
+package com.obsidian.dragon.logic;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * An immutable, fully compiled loot table.
+ * Built off the main thread and published as a whole, so a roll never sees a half-loaded table.
+ */
+final class LootTable {
+
+    static final LootTable EMPTY = new LootTable(List.of(), List.of());
+
+    final List<LootItem> items;
+    final List<LootPool> pools;
+    // Representative template for each group of stackable loot items
+    private final List<ItemStack> groupTemplates;
+    // Stack group of each top-level item, by index
+    private final int[] itemGroups;
+    // Stack group of each pool entry, by pool index then entry index
+    private final int[][] poolGroups;
+
+    LootTable(List<LootItem> items, List<LootPool> pools) {
+        this.items = List.copyOf(items);
+        this.pools = List.copyOf(pools);
+
+        // Group items whose templates stack together, so rolls can be merged by index
+        List<ItemStack> templates = new ArrayList<>();
+        Map<Material, List<Integer>> groupsByMaterial = new EnumMap<>(Material.class);
+        this.itemGroups = new int[this.items.size()];
+        for (int i = 0; i < itemGroups.length; i++) {
+            itemGroups[i] = assignGroup(this.items.get(i), templates, groupsByMaterial);
+        }
+        this.poolGroups = new int[this.pools.size()][];
+        for (int p = 0; p < poolGroups.length; p++) {
+            List<LootItem> entries = this.pools.get(p).entries;
+            poolGroups[p] = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                poolGroups[p][i] = assignGroup(entries.get(i), templates, groupsByMaterial);
+            }
+        }
+        this.groupTemplates = List.copyOf(templates);
+    }
+
+    /**
+     * Finds (or creates) the stack group of an item; only items of the same material are compared.
+     */
+    private static int assignGroup(LootItem item, List<ItemStack> templates, Map<Material, List<Integer>> groupsByMaterial) {
+        List<Integer> candidates = groupsByMaterial.computeIfAbsent(item.material, m -> new ArrayList<>());
+        for (int candidate : candidates) {
+            if (templates.get(candidate).isSimilar(item.template)) {
+                return candidate;
+            }
+        }
+        int group = templates.size();
+        templates.add(item.template);
+        candidates.add(group);
+        return group;
+    }
+
+    /**
+     * Rolls the table once and returns the resulting stacks, already consolidated.
+     * Top-level items roll their own chance; each pool makes its weighted picks.
+     */
+    List<ItemStack> roll(RandomGenerator random) {
+        StackConsolidator consolidator = new StackConsolidator(groupTemplates.size());
+        rollInto(random, consolidator);
+        return consolidator.toStacks(groupTemplates);
+    }
+
+    /**
+     * Rolls the table once into per-group amounts without building any stacks.
+     * Consumes the random generator exactly like {@link #roll}.
+     *
+     * @param consolidator A consolidator sized for {@link #groupCount()} groups
+     */
+    void rollInto(RandomGenerator random, StackConsolidator consolidator) {
+        for (int i = 0; i < items.size(); i++) {
+            LootItem lootItem = items.get(i);
+            // Check drop chance
+            double roll = random.nextDouble() * 100;
+            if (roll > lootItem.chance) {
+                continue; // Item didn't drop
+            }
+            consolidator.add(itemGroups[i], rollAmount(lootItem, random));
+        }
+
+        for (int p = 0; p < pools.size(); p++) {
+            LootPool pool = pools.get(p);
+            int rolls = pool.rollCount(random);
+            for (int r = 0; r < rolls; r++) {
+                int picked = pool.pickIndex(random);
+                consolidator.add(poolGroups[p][picked], rollAmount(pool.entries.get(picked), random));
+            }
+        }
+    }
+
+    /**
+     * Rolls the amount for one drop of a loot item.
+     */
+    private static int rollAmount(LootItem lootItem, RandomGenerator random) {
+        if (lootItem.minAmount == lootItem.maxAmount) {
+            return lootItem.minAmount;
+        }
+        return random.nextInt(lootItem.maxAmount - lootItem.minAmount + 1) + lootItem.minAmount;
+    }
+
+    /**
+     * Gets the number of loot items in this table (top-level items plus pool entries).
+     */
+    int itemCount() {
+        int count = items.size();
+        for (LootPool pool : pools) {
+            count += pool.entries.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of stack groups (distinct stackable drops) in this table.
+     */
+    int groupCount() {
+        return groupTemplates.size();
+    }
+
+    /**
+     * Gets the representative template of a stack group. Callers must not modify it.
+     */
+    ItemStack groupTemplate(int group) {
+        return groupTemplates.get(group);
+    }
+
+    boolean isEmpty() {
+        return items.isEmpty() && pools.isEmpty();
+    }
+
+    /**
+     * Checks whether this table consists of exactly the same compiled items and pools as another,
+     * i.e. a reload produced nothing new.
+     */
+    boolean sameContentAs(LootTable other) {
+        return sameElements(items, other.items) && sameElements(pools, other.pools);
+    }
+
+    private static boolean sameElements(List<?> a, List<?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,157 @@
+package com.obsidian.dragon.logic;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary cache of the compiled loot table, keyed by the content hash of loot.yml.
+ * Lets startup skip YAML parsing and item building when loot.yml has not changed.
+ * Item templates are stored with Paper's versioned item serialization; the cache is also
+ * discarded whenever the server version changes.
+ */
+final class LootTableCache {
+
+    private static final int MAGIC = 0x4F444C54; // "ODLT"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path cacheFile;
+
+    LootTableCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Reads the cached table if it was built from loot.yml content with the given hash.
+     *
+     * @param hash SHA-256 of the current loot.yml
+     * @return The cached table, or null if there is no usable cache
+     * @throws IOException if the cache exists but cannot be read
+     */
+    LootTable read(byte[] hash) throws IOException {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            if (!Arrays.equals(readBytes(in), hash) || !in.readUTF().equals(Bukkit.getBukkitVersion())) {
+                return null;
+            }
+
+            List<LootItem> items = readItems(in);
+            int poolCount = in.readInt();
+            List<LootPool> pools = new ArrayList<>(poolCount);
+            for (int i = 0; i < poolCount; i++) {
+                String name = in.readUTF();
+                int minRolls = in.readInt();
+                int maxRolls = in.readInt();
+                double chance = in.readDouble();
+                String source = readString(in);
+                pools.add(new LootPool(name, minRolls, maxRolls, chance, readItems(in), source));
+            }
+            return new LootTable(items, pools);
+        }
+    }
+
+    /**
+     * Writes a table to the cache, replacing any previous cache atomically.
+     *
+     * @param hash SHA-256 of the loot.yml content the table was built from
+     * @throws IOException if the cache cannot be written
+     */
+    void write(byte[] hash, LootTable table) throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path temp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeBytes(out, hash);
+            out.writeUTF(Bukkit.getBukkitVersion());
+
+            writeItems(out, table.items);
+            out.writeInt(table.pools.size());
+            for (LootPool pool : table.pools) {
+                out.writeUTF(pool.name);
+                out.writeInt(pool.minRolls);
+                out.writeInt(pool.maxRolls);
+                out.writeDouble(pool.chance);
+                writeString(out, pool.source);
+                writeItems(out, pool.entries);
+            }
+        }
+        Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<LootItem> readItems(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<LootItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Material material = Material.valueOf(in.readUTF());
+            int minAmount = in.readInt();
+            int maxAmount = in.readInt();
+            double chance = in.readDouble();
+            double weight = in.readDouble();
+            ItemStack template = ItemStack.deserializeBytes(readBytes(in));
+            String source = readString(in);
+            items.add(new LootItem(material, minAmount, maxAmount, chance, weight, template, source));
+        }
+        return items;
+    }
+
+    private static void writeItems(DataOutputStream out, List<LootItem> items) throws IOException {
+        out.writeInt(items.size());
+        for (LootItem item : items) {
+            out.writeUTF(item.material.name());
+            out.writeInt(item.minAmount);
+            out.writeInt(item.maxAmount);
+            out.writeDouble(item.chance);
+            out.writeDouble(item.weight);
+            writeBytes(out, item.template.serializeAsBytes());
+            writeString(out, item.source);
+        }
+    }
+
+    // Strings that may exceed writeUTF's 64 KiB limit are stored as length-prefixed UTF-8
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt loot cache (negative length)");
+        }
+        byte[] value = in.readNBytes(length);
+        if (value.length != length) {
+            throw new EOFException("Truncated loot cache");
+        }
+        return value;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+}
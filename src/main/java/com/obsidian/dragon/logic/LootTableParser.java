@@ -0,0 +1,364 @@
+package com.obsidian.dragon.logic;
+
+import com.obsidian.dragon.util.LegacyText;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parses and validates loot.yml into a {@link LootTable}.
+ * Touches no shared state, so it can run on a background thread; use one instance per parse.
+ * Items and pools whose definition is unchanged from the previous table are reused instead of recompiled.
+ */
+final class LootTableParser {
+
+    private final Logger logger;
+    // Compiled items and pools of the previous table, by definition
+    private final Map<String, LootItem> previousItems = new HashMap<>();
+    private final Map<String, LootPool> previousPools = new HashMap<>();
+    // Keeps temporary section names unique while one file is parsed
+    private int tempSectionCounter;
+    private int reusedCount;
+    // Raw entries of the "loot" list from the last parse
+    private List<?> lootDefinitions = List.of();
+
+    /**
+     * @param previous The table currently in use, whose unchanged parts may be reused
+     */
+    LootTableParser(Logger logger, LootTable previous) {
+        this.logger = logger;
+        for (LootItem item : previous.items) {
+            previousItems.put(item.source, item);
+        }
+        for (LootPool pool : previous.pools) {
+            previousPools.put(pool.name, pool);
+            for (LootItem entry : pool.entries) {
+                previousItems.put(entry.source, entry);
+            }
+        }
+    }
+
+    /**
+     * Parses loot.yml. Invalid entries are reported and skipped; a structurally invalid file fails the whole parse.
+     *
+     * @param contents The content of loot.yml
+     * @return The compiled loot table
+     * @throws InvalidConfigurationException if the content is not valid YAML or has no loot sections
+     */
+    LootTable parse(String contents) throws InvalidConfigurationException {
+        YamlConfiguration lootConfig = new YamlConfiguration();
+        lootConfig.loadFromString(contents);
+
+        // Validate YAML structure
+        if (!lootConfig.contains("loot") && !lootConfig.contains("pools")) {
+            throw new InvalidConfigurationException("Missing 'loot' or 'pools' section");
+        }
+
+        List<LootItem> lootItems = new ArrayList<>();
+        List<?> lootList = lootConfig.getList("loot");
+        if (lootList != null) {
+            lootDefinitions = lootList;
+            lootItems.addAll(parseItemList(lootConfig, lootList, "Loot item #"));
+        }
+
+        List<LootPool> lootPools = new ArrayList<>();
+        ConfigurationSection poolsSection = lootConfig.getConfigurationSection("pools");
+        if (poolsSection != null) {
+            for (String poolName : poolsSection.getKeys(false)) {
+                ConfigurationSection poolSection = poolsSection.getConfigurationSection(poolName);
+                if (poolSection == null) {
+                    logger.warning("Skipping invalid pool '" + poolName + "': Not a valid configuration section");
+                    continue;
+                }
+                try {
+                    LootPool pool = parseLootPool(lootConfig, poolSection, poolName);
+                    if (pool != null) {
+                        lootPools.add(pool);
+                    }
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Failed to parse pool '" + poolName + "': " + e.getMessage(), e);
+                }
+            }
+        }
+
+        if (reusedCount > 0) {
+            logger.fine("Reused " + reusedCount + " unchanged loot definition(s)");
+        }
+        return new LootTable(lootItems, lootPools);
+    }
+
+    /**
+     * Compiles the top-level item list from in-memory definitions (as edited in the loot editor),
+     * without reading loot.yml.
+     *
+     * @param definitions Item definitions in loot.yml format
+     * @return The compiled items; unchanged definitions are reused
+     */
+    List<LootItem> parseItems(List<?> definitions) {
+        List<LootItem> items = parseItemList(new YamlConfiguration(), definitions, "Loot item #");
+        if (reusedCount > 0) {
+            logger.fine("Reused " + reusedCount + " unchanged loot definition(s)");
+        }
+        return items;
+    }
+
+    /**
+     * Gets the raw entries of the "loot" list read by {@link #parse}.
+     */
+    List<?> getLootDefinitions() {
+        return lootDefinitions;
+    }
+
+    /**
+     * Parses a YAML list of loot item maps/sections, skipping (and reporting) invalid entries.
+     *
+     * @param labelPrefix Prefix used in log messages, e.g. "Loot item #"
+     */
+    private List<LootItem> parseItemList(FileConfiguration lootConfig, List<?> list, String labelPrefix) {
+        List<LootItem> items = new ArrayList<>();
+        int itemIndex = 0;
+        for (Object obj : list) {
+            itemIndex++;
+            String label = labelPrefix + itemIndex;
+            ConfigurationSection section;
+
+            String source = definitionOf(obj);
+            LootItem previous = previousItems.get(source);
+            if (previous != null) {
+                items.add(previous);
+                reusedCount++;
+                continue;
+            }
+
+            if (obj instanceof ConfigurationSection) {
+                section = (ConfigurationSection) obj;
+            } else if (obj instanceof Map) {
+                // Handle maps from YAML
+                section = lootConfig.createSection("temp_" + tempSectionCounter++, (Map<?, ?>) obj);
+            } else {
+                logger.warning("Skipping invalid " + label + ": Not a valid configuration section");
+                continue;
+            }
+
+            try {
+                LootItem item = parseLootItem(section, label, source);
+                if (item != null) {
+                    items.add(item);
+                    logger.fine("Loaded " + label + ": " + item.material.name() +
+                               " (chance: " + item.chance + "%, weight: " + item.weight + ")");
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to parse " + label + ": " + e.getMessage(), e);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Parses a named pool: roll count (single value or range), optional pool chance and weighted entries.
+     * The pool's alias table is built here so that sampling never scans the entry list.
+     */
+    private LootPool parseLootPool(FileConfiguration lootConfig, ConfigurationSection section, String poolName) {
+        String label = "Pool '" + poolName + "'";
+
+        String source = definitionOf(section);
+        LootPool previous = previousPools.get(poolName);
+        if (previous != null && previous.source.equals(source)) {
+            reusedCount++;
+            return previous;
+        }
+
+        List<?> entryList = section.getList("entries");
+        if (entryList == null || entryList.isEmpty()) {
+            logger.warning(label + " has no entries, skipping");
+            return null;
+        }
+
+        int[] rolls = parseRange(section.getString("rolls"), label, "rolls", 0);
+
+        double chance = section.getDouble("chance", 100.0);
+        if (chance < 0 || chance > 100) {
+            logger.warning(label + ": Chance must be between 0-100, clamping value");
+            chance = Math.max(0, Math.min(100, chance));
+        }
+
+        List<LootItem> entries = parseItemList(lootConfig, entryList, label + " entry #");
+        if (entries.isEmpty()) {
+            logger.warning(label + " has no valid entries, skipping");
+            return null;
+        }
+
+        logger.fine("Loaded " + label + ": " + entries.size() + " entr" + (entries.size() == 1 ? "y" : "ies") +
+                   ", rolls " + rolls[0] + (rolls[0] == rolls[1] ? "" : "-" + rolls[1]));
+        return new LootPool(poolName, rolls[0], rolls[1], chance, entries, source);
+    }
+
+    /**
+     * Gets a canonical string for a raw item or pool definition, used to recognise unchanged definitions.
+     */
+    private static String definitionOf(Object definition) {
+        if (definition instanceof ConfigurationSection section) {
+            return section.getValues(false).toString();
+        }
+        return String.valueOf(definition);
+    }
+
+    /**
+     * Parses a "N" or "MIN-MAX" value, falling back to 1 when the value is missing or invalid.
+     *
+     * @param min The smallest accepted value
+     * @return {min, max}
+     */
+    private int[] parseRange(String value, String label, String field, int min) {
+        int low = 1;
+        int high = 1;
+        if (value == null) {
+            return new int[]{low, high};
+        }
+
+        try {
+            if (value.contains("-")) {
+                String[] parts = value.split("-");
+                low = Integer.parseInt(parts[0].trim());
+                high = Integer.parseInt(parts[1].trim());
+            } else {
+                low = high = Integer.parseInt(value.trim());
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            logger.warning(label + ": Invalid " + field + " '" + value + "', using default (1)");
+            return new int[]{1, 1};
+        }
+
+        if (low < min || high < min) {
+            logger.warning(label + ": " + capitalize(field) + " must be at least " + min + ", using default (1)");
+            return new int[]{1, 1};
+        }
+        if (low > high) {
+            int temp = low;
+            low = high;
+            high = temp;
+        }
+        return new int[]{low, high};
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    /**
+     * Parses a single loot item from configuration.
+     *
+     * @param label Human readable position used in log messages, e.g. "Loot item #3"
+     */
+    private LootItem parseLootItem(ConfigurationSection section, String label, String source) {
+        // Validate required fields
+        if (!section.contains("material")) {
+            logger.warning(label + " missing required field: 'material'");
+            return null;
+        }
+
+        String materialName = section.getString("material", "").toUpperCase();
+        Material material;
+        try {
+            material = Material.valueOf(materialName);
+            if (!material.isItem()) {
+                logger.warning(label + ": Material '" + materialName + "' is not a valid item!");
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warning(label + ": Invalid material name '" + materialName + "'");
+            return null;
+        }
+
+        // Parse amount (can be single value or range)
+        int[] amount = parseRange(section.getString("amount"), label, "amount", 1);
+
+        // Parse chance (0-100)
+        double chance = section.getDouble("chance", 100.0);
+        if (chance < 0 || chance > 100) {
+            logger.warning(label + ": Chance must be between 0-100, clamping value");
+            chance = Math.max(0, Math.min(100, chance));
+        }
+
+        // Parse weight (only used inside pools)
+        double weight = section.getDouble("weight", 1.0);
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            logger.warning(label + ": Weight must be a positive number, using default (1)");
+            weight = 1.0;
+        }
+
+        // Parse optional fields
+        String customName = section.getString("name");
+        List<String> lore = section.getStringList("lore");
+        Map<Enchantment, Integer> enchantments = resolveEnchantments(section.getStringList("enchantments"), label);
+
+        // Compile the fully built stack once so drops only need a clone
+        ItemStack template = buildTemplate(material, customName, lore, enchantments);
+        return new LootItem(material, amount[0], amount[1], chance, weight, template, source);
+    }
+
+    /**
+     * Resolves the enchantment list of a loot item, rejecting (and reporting) bad entries.
+     */
+    private Map<Enchantment, Integer> resolveEnchantments(List<String> enchantStrings, String label) {
+        Map<Enchantment, Integer> enchantments = new LinkedHashMap<>();
+        for (String enchantStr : enchantStrings) {
+            try {
+                Map.Entry<Enchantment, Integer> resolved = LootManager.resolveEnchantment(enchantStr);
+                enchantments.put(resolved.getKey(), resolved.getValue());
+            } catch (IllegalArgumentException e) {
+                logger.warning(label + ": " + e.getMessage() + " (enchantment skipped)");
+            }
+        }
+        return enchantments;
+    }
+
+    /**
+     * Builds the template stack for a loot item (name, lore and enchantments applied).
+     * Called once per item at load time; the result is never handed out directly.
+     */
+    private ItemStack buildTemplate(Material material, String customName, List<String> lore, Map<Enchantment, Integer> enchantments) {
+        ItemStack item = new ItemStack(material, 1);
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta != null) {
+            // Set custom name using modern Adventure API
+            if (customName != null && !customName.isEmpty()) {
+                Component nameComponent = LegacyText.ampersand(customName);
+                meta.displayName(nameComponent);
+            }
+
+            // Set lore using modern Adventure API
+            if (lore != null && !lore.isEmpty()) {
+                List<Component> componentLore = new ArrayList<>();
+                for (String line : lore) {
+                    componentLore.add(LegacyText.ampersand(line));
+                }
+                meta.lore(componentLore);
+            }
+
+            item.setItemMeta(meta);
+        }
+
+        // Apply pre-resolved enchantments (bypass level restrictions for custom configs)
+        if (!enchantments.isEmpty()) {
+            item.addUnsafeEnchantments(enchantments);
+        }
+
+        return item;
+    }
+}
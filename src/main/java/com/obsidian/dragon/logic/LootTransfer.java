@@ -0,0 +1,452 @@
+package com.obsidian.dragon.logic;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.obsidian.dragon.gui.LootConfigManager;
+import com.obsidian.dragon.util.AtomicFileWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import and export of the top-level loot list as JSON or CSV, for tables generated outside
+ * the game (e.g. from balancing spreadsheets). Files are streamed entry by entry; the format follows
+ * the file extension. Pools are not part of the transfer and stay as they are in loot.yml.
+ *
+ * <p>JSON is an array of objects with the loot.yml keys ({@code "lore"} and {@code "enchantments"} as arrays).
+ * CSV has a header row naming its columns ({@code id, material, amount, chance, name, lore, enchantments},
+ * in any order; other columns are ignored) with lore lines and enchantments separated by {@code |}.
+ */
+public final class LootTransfer {
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.(json|csv)", Pattern.CASE_INSENSITIVE);
+    // CSV columns, in export order
+    private static final List<String> CSV_COLUMNS = List.of("id", "material", "amount", "chance", "name", "lore", "enchantments");
+    // Separates list values (lore lines, enchantments) inside one CSV cell, as in the editor's lore input
+    private static final String LIST_SEPARATOR = "|";
+    // Problems listed for a rejected import
+    private static final int MAX_PROBLEMS = 10;
+
+    private LootTransfer() {
+    }
+
+    /**
+     * Resolves a file name inside the exports folder.
+     *
+     * @throws IllegalArgumentException if the name is not a plain .json or .csv file name
+     */
+    static Path resolve(Path folder, String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            throw new IllegalArgumentException("File name must be a plain name ending in .json or .csv (letters, digits, - and _)");
+        }
+        return folder.resolve(fileName);
+    }
+
+    private static boolean isCsv(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * Writes entries to a file, replacing it atomically.
+     */
+    static void write(Path file, List<LootConfigManager.LootEntry> entries) throws IOException {
+        Files.createDirectories(file.getParent());
+        if (isCsv(file)) {
+            AtomicFileWriter.write(file, writer -> writeCsv(writer, entries));
+        } else {
+            AtomicFileWriter.write(file, writer -> writeJson(writer, entries));
+        }
+    }
+
+    /**
+     * Reads entries from a file. Only the file's structure is checked here; see {@link #validate}.
+     *
+     * @throws IOException if the file cannot be read or is not well-formed JSON/CSV
+     */
+    static List<LootConfigManager.LootEntry> read(Path file) throws IOException {
+        List<LootConfigManager.LootEntry> entries;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            entries = isCsv(file) ? readCsv(in) : readJson(in);
+        } catch (IllegalStateException | NumberFormatException e) {
+            // Thrown by the JSON reader for values of the wrong type
+            throw new IOException(e.getMessage(), e);
+        }
+        if (entries.isEmpty()) {
+            throw new IOException("The file contains no loot entries");
+        }
+        return entries;
+    }
+
+    /**
+     * Checks entries against the same rules as loot.yml, compiling each one. Unlike loading loot.yml,
+     * anything that would be reported (including values that would be clamped or skipped) rejects the import,
+     * and so does an id used by more than one entry, so ids survive a round trip through a spreadsheet.
+     *
+     * @throws InvalidLootException listing the problems found
+     */
+    static void validate(List<LootConfigManager.LootEntry> entries) throws InvalidLootException {
+        List<String> problems = new ArrayList<>();
+        Logger collector = Logger.getAnonymousLogger();
+        collector.setUseParentHandlers(false);
+        collector.setLevel(Level.WARNING);
+        collector.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                problems.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        // Entry number (as in the parser's messages) of the first entry with each id
+        Map<String, Integer> firstWithId = new HashMap<>();
+        List<Map<String, Object>> definitions = new ArrayList<>(entries.size());
+        for (LootConfigManager.LootEntry entry : entries) {
+            definitions.add(LootConfigManager.toDefinition(entry));
+            if (entry.id != null && !entry.id.isBlank()) {
+                Integer first = firstWithId.putIfAbsent(entry.id, definitions.size());
+                if (first != null) {
+                    problems.add("Loot item #" + definitions.size() + ": Duplicate id '" + entry.id + "' (also used by loot item #" + first + ")");
+                }
+            }
+        }
+        new LootTableParser(collector, LootTable.EMPTY).parseItems(definitions);
+
+        if (!problems.isEmpty()) {
+            throw new InvalidLootException(problems);
+        }
+    }
+
+    // JSON
+
+    private static void writeJson(Writer out, List<LootConfigManager.LootEntry> entries) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginArray();
+        for (LootConfigManager.LootEntry entry : entries) {
+            writeJsonValue(json, LootConfigManager.toDefinition(entry));
+        }
+        json.endArray();
+        json.flush();
+    }
+
+    private static void writeJsonValue(JsonWriter json, Object value) throws IOException {
+        if (value == null) {
+            json.nullValue();
+        } else if (value instanceof Map<?, ?> map) {
+            json.beginObject();
+            for (Map.Entry<?, ?> field : map.entrySet()) {
+                json.name(String.valueOf(field.getKey()));
+                writeJsonValue(json, field.getValue());
+            }
+            json.endObject();
+        } else if (value instanceof Collection<?> list) {
+            json.beginArray();
+            for (Object element : list) {
+                writeJsonValue(json, element);
+            }
+            json.endArray();
+        } else if (value instanceof Number number) {
+            json.value(number);
+        } else if (value instanceof Boolean bool) {
+            json.value(bool);
+        } else {
+            json.value(String.valueOf(value));
+        }
+    }
+
+    private static List<LootConfigManager.LootEntry> readJson(BufferedReader in) throws IOException {
+        JsonReader json = new JsonReader(in);
+        List<LootConfigManager.LootEntry> entries = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            entries.add(readJsonEntry(json));
+        }
+        json.endArray();
+        if (json.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("Unexpected content after the loot list at " + json.getPath());
+        }
+        return entries;
+    }
+
+    private static LootConfigManager.LootEntry readJsonEntry(JsonReader json) throws IOException {
+        LootConfigManager.LootEntry entry = newEntry();
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            if (json.peek() == JsonToken.NULL) {
+                json.nextNull();
+                continue;
+            }
+            switch (key) {
+                case "id" -> entry.id = json.nextString();
+                case "material" -> entry.material = json.nextString();
+                case "amount" -> entry.amount = json.nextString();
+                case "chance" -> entry.chance = json.nextDouble();
+                case "name" -> entry.customName = json.nextString();
+                case "lore" -> entry.lore = readJsonStrings(json);
+                case "enchantments" -> entry.enchantments = readJsonStrings(json);
+                default -> entry.extras.put(key, readJsonValue(json));
+            }
+        }
+        json.endObject();
+        return entry;
+    }
+
+    private static List<String> readJsonStrings(JsonReader json) throws IOException {
+        List<String> values = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            values.add(json.nextString());
+        }
+        json.endArray();
+        return values;
+    }
+
+    private static Object readJsonValue(JsonReader json) throws IOException {
+        switch (json.peek()) {
+            case BEGIN_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                json.beginArray();
+                while (json.hasNext()) {
+                    list.add(readJsonValue(json));
+                }
+                json.endArray();
+                return list;
+            }
+            case BEGIN_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                json.beginObject();
+                while (json.hasNext()) {
+                    map.put(json.nextName(), readJsonValue(json));
+                }
+                json.endObject();
+                return map;
+            }
+            case NUMBER -> {
+                String number = json.nextString();
+                if (number.contains(".") || number.contains("e") || number.contains("E")) {
+                    return Double.parseDouble(number);
+                }
+                long value = Long.parseLong(number);
+                return value == (int) value ? (Object) (int) value : (Object) value;
+            }
+            case BOOLEAN -> {
+                return json.nextBoolean();
+            }
+            case NULL -> {
+                json.nextNull();
+                return null;
+            }
+            default -> {
+                return json.nextString();
+            }
+        }
+    }
+
+    // CSV
+
+    private static void writeCsv(Writer out, List<LootConfigManager.LootEntry> entries) throws IOException {
+        writeCsvRecord(out, CSV_COLUMNS);
+        for (LootConfigManager.LootEntry entry : entries) {
+            writeCsvRecord(out, List.of(
+                    nullToEmpty(entry.id),
+                    nullToEmpty(entry.material),
+                    nullToEmpty(entry.amount),
+                    String.valueOf(entry.chance),
+                    nullToEmpty(entry.customName),
+                    entry.lore != null ? String.join(LIST_SEPARATOR, entry.lore) : "",
+                    entry.enchantments != null ? String.join(LIST_SEPARATOR, entry.enchantments) : ""));
+        }
+    }
+
+    private static void writeCsvRecord(Writer out, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String field = fields.get(i);
+            if (field.contains(",") || field.contains("\"") || field.contains("\n") || field.contains("\r")
+                    || !field.equals(field.trim())) {
+                out.write('"');
+                out.write(field.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(field);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private static List<LootConfigManager.LootEntry> readCsv(BufferedReader in) throws IOException {
+        List<String> header = readCsvRecord(in);
+        if (header == null) {
+            return List.of();
+        }
+        // Column index of each known column; spreadsheets often add their own columns, which are ignored
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (!columns.containsKey("material")) {
+            throw new IOException("CSV header has no 'material' column (expected " + String.join(",", CSV_COLUMNS) + ")");
+        }
+
+        List<LootConfigManager.LootEntry> entries = new ArrayList<>();
+        int row = 1;
+        List<String> fields;
+        while ((fields = readCsvRecord(in)) != null) {
+            row++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue; // Blank line
+            }
+            LootConfigManager.LootEntry entry = newEntry();
+            entry.id = csvField(fields, columns, "id");
+            entry.material = csvField(fields, columns, "material");
+            String amount = csvField(fields, columns, "amount");
+            if (amount != null) {
+                entry.amount = amount;
+            }
+            String chance = csvField(fields, columns, "chance");
+            if (chance != null) {
+                try {
+                    entry.chance = Double.parseDouble(chance.replace("%", ""));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Row " + row + ": Invalid chance '" + chance + "'");
+                }
+            }
+            String name = csvField(fields, columns, "name");
+            entry.customName = name != null ? name : "";
+            entry.lore = csvList(csvField(fields, columns, "lore"));
+            entry.enchantments = csvList(csvField(fields, columns, "enchantments"));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Reads one CSV record (RFC 4180: quoted fields may contain commas, doubled quotes and line breaks).
+     *
+     * @return The record's fields, or null at the end of the input
+     */
+    private static List<String> readCsvRecord(BufferedReader in) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next != '"') {
+                        // Closing quote; handle the character after it as unquoted
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    /**
+     * Gets a cell of a record, or null if the column is missing or the cell is empty.
+     */
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static List<String> csvList(String cell) {
+        return cell == null ? new ArrayList<>() : new ArrayList<>(List.of(cell.split(Pattern.quote(LIST_SEPARATOR), -1)));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Creates an entry with the same defaults as an entry read from loot.yml (material excepted, which is required).
+     */
+    private static LootConfigManager.LootEntry newEntry() {
+        LootConfigManager.LootEntry entry = new LootConfigManager.LootEntry();
+        entry.amount = "1";
+        entry.chance = 100.0;
+        entry.customName = "";
+        entry.lore = new ArrayList<>();
+        entry.enchantments = new ArrayList<>();
+        return entry;
+    }
+
+    /**
+     * Thrown when imported entries break the loot.yml rules.
+     */
+    public static final class InvalidLootException extends Exception {
+        private final int problemCount;
+        private final List<String> problems;
+
+        InvalidLootException(List<String> problems) {
+            super(problems.size() + " problem(s) found, first: " + problems.get(0));
+            this.problemCount = problems.size();
+            this.problems = List.copyOf(problems.subList(0, Math.min(problems.size(), MAX_PROBLEMS)));
+        }
+
+        public int getProblemCount() {
+            return problemCount;
+        }
+
+        /**
+         * Gets the first problems found (at most ten).
+         */
+        public List<String> getProblems() {
+            return problems;
+        }
+    }
+}
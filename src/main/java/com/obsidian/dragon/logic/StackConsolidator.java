@@ -0,0 +1,94 @@
+package com.obsidian.dragon.logic;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges rolled loot into as few stacks as possible before anything is spawned.
+ * Items are accumulated per stack group (templates that are {@link ItemStack#isSimilar similar},
+ * resolved at load time), then split into stacks no larger than the max stack size.
+ */
+final class StackConsolidator {
+
+    private final int[] totals;
+    private final int[] order;
+    private int used;
+
+    /**
+     * @param groupCount Number of stack groups in the loaded loot table
+     */
+    StackConsolidator(int groupCount) {
+        this.totals = new int[groupCount];
+        this.order = new int[groupCount];
+    }
+
+    /**
+     * Adds a rolled amount to a stack group.
+     */
+    void add(int group, int amount) {
+        if (amount <= 0) {
+            return;
+        }
+        if (totals[group] == 0) {
+            order[used++] = group;
+        }
+        totals[group] += amount;
+    }
+
+    /**
+     * Gets the number of distinct groups rolled so far.
+     */
+    int groupsUsed() {
+        return used;
+    }
+
+    /**
+     * Gets the i-th distinct group rolled, in roll order.
+     */
+    int groupAt(int i) {
+        return order[i];
+    }
+
+    /**
+     * Gets the total amount rolled for a group.
+     */
+    int totalOf(int group) {
+        return totals[group];
+    }
+
+    /**
+     * Clears all rolled amounts so the consolidator can be reused for another roll.
+     */
+    void reset() {
+        for (int i = 0; i < used; i++) {
+            totals[order[i]] = 0;
+        }
+        used = 0;
+    }
+
+    /**
+     * Builds the final stacks, in the order groups were first rolled.
+     *
+     * @param groupTemplates Representative template for each stack group
+     */
+    List<ItemStack> toStacks(List<ItemStack> groupTemplates) {
+        List<ItemStack> stacks = new ArrayList<>(used);
+        for (int i = 0; i < used; i++) {
+            int group = order[i];
+            ItemStack template = groupTemplates.get(group);
+            int maxStackSize = Math.max(1, template.getMaxStackSize());
+
+            int remaining = totals[group];
+            while (remaining > 0) {
+                int amount = Math.min(maxStackSize, remaining);
+                ItemStack stack = template.clone();
+                stack.setAmount(amount);
+                stacks.add(stack);
+                remaining -= amount;
+            }
+        }
+        return stacks;
+    }
+}
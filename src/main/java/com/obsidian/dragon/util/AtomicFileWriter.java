@@ -0,0 +1,72 @@
+package com.obsidian.dragon.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe file replacement.
+ * Content is written to a temporary file next to the target, forced to disk, then renamed
+ * over the target, so readers (and a crash) only ever see the old or the new file, never a partial one.
+ */
+public final class AtomicFileWriter {
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Replaces a file's content.
+     *
+     * @param target The file to replace
+     * @param content The new content, written as UTF-8
+     * @throws IOException if the content could not be written; the target is left untouched
+     */
+    public static void write(Path target, String content) throws IOException {
+        write(target, writer -> writer.write(content));
+    }
+
+    /**
+     * Replaces a file's content with text streamed by a callback, without building it in memory first.
+     *
+     * @param target The file to replace
+     * @param content Writes the new content; its writer encodes UTF-8 and must not be closed
+     * @throws IOException if the content could not be written; the target is left untouched
+     */
+    public static void write(Path target, ContentWriter content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+            content.writeTo(writer);
+            writer.flush();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Some file systems can't rename atomically; a plain replace still never leaves a truncated file
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,70 @@
+package com.obsidian.dragon.util;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compares two versions of a configuration, value by value, so a reload can apply only what changed.
+ * Only values set in the files count; defaults are not compared.
+ */
+public final class ConfigDiff {
+
+    private ConfigDiff() {
+    }
+
+    /**
+     * Lists the paths of the values (not sections) that were added, removed or changed.
+     *
+     * @return The changed paths, sorted
+     */
+    public static Set<String> changedPaths(ConfigurationSection before, ConfigurationSection after) {
+        Map<String, Object> old = values(before);
+        Map<String, Object> current = values(after);
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (!Objects.equals(entry.getValue(), old.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String path : old.keySet()) {
+            if (!current.containsKey(path)) {
+                changed.add(path);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Whether a path is a section or lies inside it, e.g. "economy.spawn-cost" is under "economy".
+     */
+    public static boolean isUnder(String path, String section) {
+        return path.equals(section) || path.startsWith(section + ".");
+    }
+
+    /**
+     * Whether any of the paths lies under a section.
+     */
+    public static boolean anyUnder(Set<String> paths, String section) {
+        for (String path : paths) {
+            if (isUnder(path, section)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Object> values(ConfigurationSection section) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+}
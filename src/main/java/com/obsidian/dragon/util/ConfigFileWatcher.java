@@ -0,0 +1,202 @@
+package com.obsidian.dragon.util;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches configuration files in the plugin data folder and reports changes.
+ * Bursts of writes are debounced into one notification per file (fired at the latest after a
+ * maximum delay, so a steady stream of writes cannot hold it back), and writes that leave
+ * a file's content unchanged are ignored, as are the plugin's own writes announced through
+ * {@link #expectContent(String, byte[])}. Runs entirely on its own thread; handlers
+ * are called on that thread.
+ */
+public class ConfigFileWatcher {
+
+    private final Logger logger;
+    private final Path folder;
+    private final long debounceMillis;
+    private final long maxDelayMillis;
+    // Handler per watched file name, in registration order
+    private final Map<String, Runnable> handlers = new LinkedHashMap<>();
+    // Content hash of each watched file as last seen (or as about to be written by the plugin)
+    private final Map<String, byte[]> hashes = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param debounceMillis How long watched files must be quiet before their changes are reported
+     * @param maxDelayMillis Longest time a change waits for the files to become quiet
+     */
+    public ConfigFileWatcher(JavaPlugin plugin, long debounceMillis, long maxDelayMillis) {
+        this.logger = plugin.getLogger();
+        this.folder = plugin.getDataFolder().toPath();
+        this.debounceMillis = debounceMillis;
+        this.maxDelayMillis = Math.max(debounceMillis, maxDelayMillis);
+    }
+
+    /**
+     * Registers a handler for a file in the data folder. Must be called before {@link #start()}.
+     *
+     * @param fileName The file name, e.g. "loot.yml"
+     * @param handler Called (on the watcher thread) after the file's content has changed
+     */
+    public void watch(String fileName, Runnable handler) {
+        handlers.put(fileName, handler);
+    }
+
+    /**
+     * Records content the plugin is about to write to a watched file, so that write is not reported
+     * as a change; only edits made by others trigger the handler. Call it before writing.
+     * Safe to call from any thread.
+     */
+    public void expectContent(String fileName, byte[] content) {
+        if (handlers.containsKey(fileName)) {
+            hashes.put(fileName, digest(content));
+        }
+    }
+
+    /**
+     * Starts watching.
+     *
+     * @return true if the watcher is running
+     */
+    public boolean start() {
+        try {
+            watchService = folder.getFileSystem().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to start config file watcher!", e);
+            return false;
+        }
+
+        for (String fileName : handlers.keySet()) {
+            byte[] hash = hash(fileName);
+            if (hash != null) {
+                hashes.put(fileName, hash);
+            }
+        }
+
+        thread = new Thread(this::run, "ObsidianDragon-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching " + String.join(", ", handlers.keySet()) + " for changes.");
+        return true;
+    }
+
+    /**
+     * Stops watching. Safe to call when the watcher was never started.
+     */
+    public void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close config file watcher", e);
+        }
+        thread.interrupt();
+        watchService = null;
+        thread = null;
+    }
+
+    private void run() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Wait for a watched file to change, then keep collecting until the watched files have been
+                // quiet for the debounce window; events of other files (temp files, caches) don't extend it
+                Set<String> changed = new LinkedHashSet<>();
+                while (changed.isEmpty()) {
+                    collect(service.take(), changed);
+                }
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                long quietAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+                long wait;
+                while ((wait = Math.min(quietAt, deadline) - System.nanoTime()) > 0) {
+                    WatchKey key = service.poll(wait, TimeUnit.NANOSECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    if (collect(key, changed)) {
+                        quietAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+                    }
+                }
+
+                for (String fileName : changed) {
+                    byte[] hash = hash(fileName);
+                    if (hash == null || Arrays.equals(hash, hashes.get(fileName))) {
+                        continue; // Deleted, unreadable or rewritten with the same content
+                    }
+                    hashes.put(fileName, hash);
+                    logger.info("Detected change in " + fileName + ", reloading...");
+                    try {
+                        handlers.get(fileName).run();
+                    } catch (Exception e) {
+                        logger.log(Level.WARNING, "Failed to apply change in " + fileName, e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    /**
+     * Adds the watched files named by a key's events and re-arms the key.
+     *
+     * @return true if any event named a watched file
+     */
+    private boolean collect(WatchKey key, Set<String> changed) {
+        boolean watched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && handlers.containsKey(path.toString())) {
+                changed.add(path.toString());
+                watched = true;
+            }
+        }
+        key.reset();
+        return watched;
+    }
+
+    /**
+     * Hashes the current content of a watched file.
+     *
+     * @return The SHA-256 digest, or null if the file cannot be read
+     */
+    private byte[] hash(String fileName) {
+        try {
+            return digest(Files.readAllBytes(folder.resolve(fileName)));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
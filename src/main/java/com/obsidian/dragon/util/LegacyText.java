@@ -0,0 +1,89 @@
+package com.obsidian.dragon.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts legacy color-coded text (§ or &amp; codes) to components.
+ * Menu labels, lore and messages are mostly constant strings, so parsed components are kept
+ * in a bounded cache (least recently used entries are dropped first). Components are immutable
+ * and safe to share between threads and items. Text built around changing values (balances,
+ * counts, page numbers) should use the uncached methods so it doesn't push out constant text.
+ */
+public final class LegacyText {
+
+    private static final int MAX_ENTRIES = 2048;
+
+    // Source text -> component, per code character; access-ordered for LRU eviction
+    private static final Map<String, Component> SECTION = newCache();
+    private static final Map<String, Component> AMPERSAND = newCache();
+
+    private LegacyText() {
+    }
+
+    /**
+     * Parses text written with § codes, reusing the component parsed for the same text before.
+     */
+    public static Component section(String text) {
+        return cached(SECTION, text, LegacyComponentSerializer.legacySection());
+    }
+
+    /**
+     * Parses text written with &amp; codes, reusing the component parsed for the same text before.
+     */
+    public static Component ampersand(String text) {
+        return cached(AMPERSAND, text, LegacyComponentSerializer.legacyAmpersand());
+    }
+
+    /**
+     * Parses text written with § codes without caching it, for text that embeds changing values.
+     */
+    public static Component sectionUncached(String text) {
+        return text.isEmpty() ? Component.empty() : LegacyComponentSerializer.legacySection().deserialize(text);
+    }
+
+    /**
+     * Parses text written with &amp; codes without caching it, for text that embeds changing values.
+     */
+    public static Component ampersandUncached(String text) {
+        return text.isEmpty() ? Component.empty() : LegacyComponentSerializer.legacyAmpersand().deserialize(text);
+    }
+
+    /**
+     * Drops every cached component (called on reload, when configured texts may change).
+     */
+    public static void invalidate() {
+        synchronized (SECTION) {
+            SECTION.clear();
+        }
+        synchronized (AMPERSAND) {
+            AMPERSAND.clear();
+        }
+    }
+
+    private static Component cached(Map<String, Component> cache, String text, LegacyComponentSerializer serializer) {
+        if (text.isEmpty()) {
+            return Component.empty();
+        }
+        synchronized (cache) {
+            Component component = cache.get(text);
+            if (component == null) {
+                component = serializer.deserialize(text);
+                cache.put(text, component);
+            }
+            return component;
+        }
+    }
+
+    private static Map<String, Component> newCache() {
+        return new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+}
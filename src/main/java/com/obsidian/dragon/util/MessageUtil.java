@@ -1,7 +1,6 @@
 package com.obsidian.dragon.util;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -28,7 +27,8 @@ public class MessageUtil {
         if (sender == null || message == null) {
             return;
         }
-        sender.sendMessage(colorize(PREFIX + message));
+        // Messages usually embed names, amounts or counts, so they are not worth caching
+        sender.sendMessage(LegacyText.sectionUncached(colorize(PREFIX + message)));
     }
 
     /**
@@ -75,8 +75,7 @@ public class MessageUtil {
         if (message == null) {
             return;
         }
-        Component component = LegacyComponentSerializer.legacyAmpersand()
-                .deserialize(PREFIX + message);
+        Component component = LegacyText.ampersandUncached(PREFIX + message);
         Bukkit.broadcast(component);
     }
 
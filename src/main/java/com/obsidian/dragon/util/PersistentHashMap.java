@@ -0,0 +1,202 @@
+package com.obsidian.dragon.util;
+
+import java.util.Objects;
+
+/**
+ * An immutable hash map that shares structure between versions.
+ * Entries live in a 32-way trie indexed by hash bits (a hash array mapped trie): adding or
+ * replacing a key copies only the nodes on its path and shares everything else with the
+ * previous version. Keys and values must not be null.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(0, BitmapNode.EMPTY);
+
+    private final int size;
+    private final Node root;
+
+    private PersistentHashMap(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @return The value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return key != null ? (V) root.find(key, key.hashCode(), 0) : null;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a version of this map with a key set to a value. This map is unchanged.
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        boolean[] added = new boolean[1];
+        Node updated = root.put(key, value, key.hashCode(), 0, added);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(added[0] ? size + 1 : size, updated);
+    }
+
+    private interface Node {
+        Object find(Object key, int hash, int shift);
+
+        /**
+         * Returns a copy of this node with the key set, or this node if it already maps the key to that value.
+         *
+         * @param added Set to true if the key was not present before
+         */
+        Node put(Object key, Object value, int hash, int shift, boolean[] added);
+    }
+
+    /**
+     * Node holding up to 32 slots, one per value of its 5 hash bits; only occupied slots are stored.
+     * Each slot is a key and its value, or (key null) a child node for keys sharing those bits.
+     */
+    private static final class BitmapNode implements Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        // Key/value (or null/child) pairs, in slot order
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object slotKey = array[index];
+            if (slotKey == null) {
+                return ((Node) array[index + 1]).find(key, hash, shift + BITS);
+            }
+            return key.equals(slotKey) ? array[index + 1] : null;
+        }
+
+        @Override
+        public Node put(Object key, Object value, int hash, int shift, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, index);
+                grown[index] = key;
+                grown[index + 1] = value;
+                System.arraycopy(array, index, grown, index + 2, array.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, grown);
+            }
+
+            Object slotKey = array[index];
+            Object slotValue = array[index + 1];
+            if (slotKey == null) {
+                Node child = ((Node) slotValue).put(key, value, hash, shift + BITS, added);
+                return child == slotValue ? this : with(index, null, child);
+            }
+            if (key.equals(slotKey)) {
+                return value == slotValue ? this : with(index, key, value);
+            }
+            // Two keys share these bits: move both into a node one level down
+            added[0] = true;
+            return with(index, null, pair(slotKey, slotValue, key, value, hash, shift + BITS));
+        }
+
+        private BitmapNode with(int index, Object key, Object value) {
+            Object[] copy = array.clone();
+            copy[index] = key;
+            copy[index + 1] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private static Node pair(Object key1, Object value1, Object key2, Object value2, int hash2, int shift) {
+            int hash1 = key1.hashCode();
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            boolean[] ignored = new boolean[1];
+            return EMPTY.put(key1, value1, hash1, shift, ignored).put(key2, value2, hash2, shift, ignored);
+        }
+    }
+
+    /**
+     * Node holding keys whose hashes are fully equal, searched linearly.
+     */
+    private static final class CollisionNode implements Node {
+
+        final int hash;
+        // Key/value pairs
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return array[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Node put(Object key, Object value, int hash, int shift, boolean[] added) {
+            if (hash != this.hash) {
+                // A different hash reached this level: put this node under a bitmap node and insert beside it
+                BitmapNode parent = new BitmapNode(1 << ((this.hash >>> shift) & MASK), new Object[] {null, this});
+                return parent.put(key, value, hash, shift, added);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (value == array[i + 1]) {
+                        return this;
+                    }
+                    Object[] copy = array.clone();
+                    copy[i + 1] = value;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            Object[] grown = new Object[array.length + 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, grown);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.obsidian.dragon.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list that shares structure between versions.
+ * Elements live in a 32-way trie: replacing or appending an element copies only the
+ * path to it (a few small arrays) and shares everything else with the previous version,
+ * so keeping many versions of a large list around costs little memory.
+ *
+ * @param <E> Element type
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, 0, new Object[WIDTH]);
+
+    private final int size;
+    // Bits of the index consumed above the leaves; 0 when the root is itself a leaf
+    private final int shift;
+    private final Object[] root;
+
+    private PersistentVector(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Builds a vector holding the given elements, in iteration order.
+     */
+    public static <E> PersistentVector<E> of(Collection<? extends E> elements) {
+        Object[] values = elements.toArray();
+        if (values.length == 0) {
+            return empty();
+        }
+
+        // Fill the leaves, then build each level of parents until one root remains
+        Object[] nodes = new Object[(values.length + MASK) >>> BITS];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = Arrays.copyOf(Arrays.copyOfRange(values, i << BITS, Math.min(values.length, (i + 1) << BITS)), WIDTH);
+        }
+        int shift = 0;
+        while (nodes.length > 1) {
+            Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Arrays.copyOf(Arrays.copyOfRange(nodes, i << BITS, Math.min(nodes.length, (i + 1) << BITS)), WIDTH);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        return new PersistentVector<>(values.length, shift, (Object[]) nodes[0]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (E) node[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a version of this vector with one element replaced. This vector is unchanged.
+     */
+    public PersistentVector<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        return new PersistentVector<>(size, shift, assign(root, shift, index, element));
+    }
+
+    /**
+     * Returns a version of this vector with an element appended. This vector is unchanged.
+     */
+    public PersistentVector<E> plus(E element) {
+        if (size == 1 << (shift + BITS)) {
+            // Full: grow by one level, with the current root as the first child
+            Object[] grown = new Object[WIDTH];
+            grown[0] = root;
+            return new PersistentVector<>(size + 1, shift + BITS, assign(grown, shift + BITS, size, element));
+        }
+        return new PersistentVector<>(size + 1, shift, assign(root, shift, size, element));
+    }
+
+    /**
+     * Copies the path from a node down to an index, setting the element at its end.
+     */
+    private static Object[] assign(Object[] node, int level, int index, Object element) {
+        Object[] copy = node != null ? node.clone() : new Object[WIDTH];
+        if (level == 0) {
+            copy[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = assign((Object[]) copy[child], level - BITS, index, element);
+        }
+        return copy;
+    }
+}